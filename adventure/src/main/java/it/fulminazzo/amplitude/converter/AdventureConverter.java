@@ -1,8 +1,12 @@
 package it.fulminazzo.amplitude.converter;
 
 import it.fulminazzo.amplitude.component.*;
+import lombok.Getter;
+import lombok.Setter;
+import net.kyori.adventure.audience.Audience;
 import net.kyori.adventure.key.Key;
 import net.kyori.adventure.nbt.api.BinaryTagHolder;
+import net.kyori.adventure.text.TextComponent;
 import net.kyori.adventure.text.event.ClickEvent;
 import net.kyori.adventure.text.event.HoverEvent;
 import net.kyori.adventure.text.format.NamedTextColor;
@@ -11,36 +15,50 @@ import net.kyori.adventure.text.format.TextDecoration;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.Method;
-import java.util.ArrayList;
-import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.*;
 
 /**
  * Implementation of {@link ComponentConverter} that supports the <a href="https://docs.advntr.dev/index.html">Adventure API</a>.
  * This means
  * that it can be used in every version of <a href="https://papermc.io/software/paper">PaperMC</a> from 1.16 and in <a href="https://papermc.io/software/velocity">Velocity</a>.
+ * <p>
+ * By default, every component is appended to the previous one, so that the result is a deep tree
+ * where each component inherits the style of its parent.
+ * When {@link #isFlat()} is true, all the components are instead added as children of a single empty text component:
+ * every child only keeps its own style and events.
  */
 @SuppressWarnings("unchecked")
+@Getter
+@Setter
 public final class AdventureConverter extends ComponentConverter {
+    private static final Map<Style, TextDecoration> DECORATIONS = new EnumMap<>(Style.class);
+    private static final Map<Font, Key> FONTS = new EnumMap<>(Font.class);
+
+    static {
+        for (Style style : Style.values())
+            if (style != Style.RESET) DECORATIONS.put(style, TextDecoration.valueOf(style.name()));
+        for (Font font : Font.values()) FONTS.put(font, Key.key(font.name().toLowerCase()));
+    }
+
+    private boolean flat = false;
+
+    @Override
+    public <T> @Nullable T convertComponent(@Nullable Component component) {
+        if (!this.flat || component == null || component.getNext() == null) return super.convertComponent(component);
+        final TextComponent.Builder builder = net.kyori.adventure.text.Component.text();
+        for (Component current = component; current != null; current = current.getNext()) {
+            final net.kyori.adventure.text.Component c = (net.kyori.adventure.text.Component) convertSingle(current);
+            if (c != null && !c.equals(net.kyori.adventure.text.Component.empty())) builder.append(c);
+        }
+        return (T) builder.build();
+    }
 
     @Override
     public @Nullable net.kyori.adventure.text.Component convertSimpleComponent(@Nullable Component component) {
         if (component == null) return null;
         String rawText = component.getText();
         if (rawText == null) return null;
-        net.kyori.adventure.text.Component c = net.kyori.adventure.text.Component.text(rawText);
-        if (component.isReset()) c = reset(c);
-        else {
-            Color color = component.getColor();
-            if (color != null) c = applyColor(c, color);
-            Font font = component.getFont();
-            if (font != null) c = applyFont(c, font);
-            for (Style style : component.getStyles())
-                c = applyStyle(c, style, component.getStyle(style));
-        }
-        return c;
+        return net.kyori.adventure.text.Component.text(rawText, getStyle(component).build());
     }
 
     @Override
@@ -103,9 +121,11 @@ public final class AdventureConverter extends ComponentConverter {
     @Override
     public @Nullable net.kyori.adventure.text.Component convertHexComponent(@Nullable HexComponent component) {
         if (component == null) return null;
-        net.kyori.adventure.text.Component c = convertSimpleComponent(component);
-        if (c == null) return null;
-        return c.color(TextColor.fromHexString(component.getHexColor()));
+        String rawText = component.getText();
+        if (rawText == null) return null;
+        return net.kyori.adventure.text.Component.text(rawText, getStyle(component)
+                .color(TextColor.fromHexString(component.getHexColor()))
+                .build());
     }
 
     @Override
@@ -119,9 +139,11 @@ public final class AdventureConverter extends ComponentConverter {
     @Override
     public @Nullable net.kyori.adventure.text.Component convertFontComponent(@Nullable FontComponent component) {
         if (component == null) return null;
-        net.kyori.adventure.text.Component c = convertSimpleComponent(component);
-        if (c == null) c = net.kyori.adventure.text.Component.empty();
-        return c.font(Key.key(component.getFontID().toLowerCase()));
+        String rawText = component.getText();
+        if (rawText == null) return net.kyori.adventure.text.Component.empty().font(Key.key(component.getFontID().toLowerCase()));
+        return net.kyori.adventure.text.Component.text(rawText, getStyle(component)
+                .font(Key.key(component.getFontID().toLowerCase()))
+                .build());
     }
 
     @Override
@@ -132,25 +154,12 @@ public final class AdventureConverter extends ComponentConverter {
         if (child == null) rawText = "";
         else rawText = child.serialize();
 
-        net.kyori.adventure.text.TranslatableComponent c = net.kyori.adventure.text.Component.translatable(rawText);
-        c = c.args(component.getArguments().stream()
-                .map(this::convertComponent)
-                .map(bc -> bc == null ? net.kyori.adventure.text.Component.empty() : bc)
-                .map(bc -> (net.kyori.adventure.text.Component) bc)
-                .collect(Collectors.toList())
-        );
-
-        if (component.isReset()) c = reset(c);
-        else {
-            Color color = component.getColor();
-            if (color != null) c = applyColor(c, color);
-            Font font = component.getFont();
-            if (font != null) c = applyFont(c, font);
-            for (Style style : component.getStyles())
-                c = applyStyle(c, style, component.getStyle(style));
+        final List<net.kyori.adventure.text.Component> arguments = new ArrayList<>();
+        for (Component argument : component.getArguments()) {
+            net.kyori.adventure.text.Component c = convertComponent(argument);
+            arguments.add(c == null ? net.kyori.adventure.text.Component.empty() : c);
         }
-
-        return c;
+        return net.kyori.adventure.text.Component.translatable(rawText, getStyle(component).build(), arguments);
     }
 
     @Override
@@ -174,47 +183,52 @@ public final class AdventureConverter extends ComponentConverter {
     public <T> @Nullable T applyStyle(@Nullable T component, @NotNull Style style, Boolean value) {
         if (component == null) return null;
         net.kyori.adventure.text.Component c = (net.kyori.adventure.text.Component) component;
-        return (T) c.decoration(TextDecoration.valueOf(style.name()), value);
+        return (T) c.decoration(DECORATIONS.get(style), value);
     }
 
     @Override
     public <T> @Nullable T applyFont(@Nullable T component, @NotNull Font font) {
         if (component == null) return null;
         net.kyori.adventure.text.Component c = (net.kyori.adventure.text.Component) component;
-        return (T) c.font(Key.key(font.name().toLowerCase()));
+        return (T) c.font(FONTS.get(font));
     }
 
     @Override
     public <T, P> void send(@Nullable P player, @Nullable T component) {
         if (player == null) return;
         if (component == null) return;
-        try {
-            try {
-                final Class<?> clazz = Class.forName("net.kyori.adventure.audience.Audience");
-                if (!clazz.isAssignableFrom(player.getClass()))
-                    throw new Exception(String.format("%s is not a %s", player, clazz.getCanonicalName()));
-                Method sendMessage = player.getClass().getMethod("sendMessage", net.kyori.adventure.text.Component.class);
-                sendMessage.setAccessible(true);
-                sendMessage.invoke(player, component);
-                return;
-            } catch (ClassNotFoundException ignored) {}
-
-            throw new Exception("Platform not recognized: this serializer works only on BungeeCord or Spigot.");
-        } catch (Exception e) {
-            throw new RuntimeException(e);
-        }
+        if (!(player instanceof Audience))
+            throw new IllegalArgumentException(String.format("%s is not a %s", player, Audience.class.getCanonicalName()));
+        ((Audience) player).sendMessage((net.kyori.adventure.text.Component) component);
     }
 
-    private @Nullable TextColor getColor(@NotNull Color color) {
-        for (Field field : NamedTextColor.class.getFields())
-            if (field.getName().equals(color.name())) {
-                try {
-                    return (NamedTextColor) field.get(NamedTextColor.class);
-                } catch (IllegalAccessException e) {
-                    throw new RuntimeException(e);
-                }
+    /**
+     * Gets a new builder with the color, the font and the styles of the given component.
+     *
+     * @param component the component
+     * @return the style builder
+     */
+    private net.kyori.adventure.text.format.Style.@NotNull Builder getStyle(@NotNull Component component) {
+        final net.kyori.adventure.text.format.Style.Builder style = net.kyori.adventure.text.format.Style.style();
+        if (component.isReset()) {
+            style.color(getColor(Color.WHITE)).font(FONTS.get(Font.DEFAULT));
+            for (TextDecoration decoration : DECORATIONS.values()) style.decoration(decoration, false);
+        } else {
+            Color color = component.getColor();
+            if (color != null) style.color(getColor(color));
+            Font font = component.getFont();
+            if (font != null) style.font(FONTS.get(font));
+            for (Map.Entry<Style, TextDecoration> decoration : DECORATIONS.entrySet()) {
+                Boolean value = component.getStyle(decoration.getKey());
+                if (value != null) style.decoration(decoration.getValue(), value);
             }
-        return TextColor.fromHexString(color.getCode());
+        }
+        return style;
+    }
+
+    private @NotNull TextColor getColor(@NotNull Color color) {
+        if (color.isCustom()) return TextColor.fromHexString(color.getCode());
+        return NamedTextColor.NAMES.value(color.name().toLowerCase());
     }
 
-}
\ No newline at end of file
+}
@@ -150,6 +150,37 @@ class AdventureConverterTest {
         assertEquals(c2, c, rawText);
     }
 
+    @Test
+    void testFlatComponent() {
+        AdventureConverter converter = new AdventureConverter();
+        converter.setFlat(true);
+        Component c1 = new Component("<red>Hello <bold>world<reset>, <insertion text=\"Hi\">how are you?</insertion>");
+        net.kyori.adventure.text.Component c2 = net.kyori.adventure.text.Component.textOfChildren(
+                net.kyori.adventure.text.Component.text("Hello ").color(NamedTextColor.RED),
+                net.kyori.adventure.text.Component.text("world")
+                        .color(NamedTextColor.RED)
+                        .decorate(TextDecoration.BOLD),
+                net.kyori.adventure.text.Component.text(", ")
+                        .color(NamedTextColor.WHITE)
+                        .decoration(TextDecoration.BOLD, TextDecoration.State.FALSE)
+                        .decoration(TextDecoration.ITALIC, TextDecoration.State.FALSE)
+                        .decoration(TextDecoration.STRIKETHROUGH, TextDecoration.State.FALSE)
+                        .decoration(TextDecoration.OBFUSCATED, TextDecoration.State.FALSE)
+                        .decoration(TextDecoration.UNDERLINED, TextDecoration.State.FALSE)
+                        .font(Key.key("default")),
+                net.kyori.adventure.text.Component.text("how are you?").insertion("Hi")
+        );
+        assertEquals(c2, converter.convertComponent(c1));
+    }
+
+    @Test
+    void testFlatSingleComponent() {
+        AdventureConverter converter = new AdventureConverter();
+        converter.setFlat(true);
+        Component c1 = new Component("<red>Hello world");
+        assertEquals(serializer.convertComponent(c1), converter.<net.kyori.adventure.text.Component>convertComponent(c1));
+    }
+
     @Test
     void testSimpleComponent() {
         String rawText = "Hello world";
@@ -159,6 +190,15 @@ class AdventureConverterTest {
         assertEquals(c2, serializer.convertSimpleComponent(c1));
     }
 
+    @Test
+    void testUnderscoreColorComponent() {
+        String rawText = "Hello world";
+        Component c1 = new Component("<dark_red>" + rawText);
+        net.kyori.adventure.text.Component c2 = net.kyori.adventure.text.Component.text(rawText)
+                .color(NamedTextColor.DARK_RED);
+        assertEquals(c2, serializer.convertSimpleComponent(c1));
+    }
+
     @ParameterizedTest
     @MethodSource("getClickTests")
     void testClickComponent(ClickAction action, String option) throws Throwable {
@@ -202,6 +242,12 @@ class AdventureConverterTest {
         verify(player, atLeastOnce()).sendMessage(serializer.convertComponent(component));
     }
 
+    @Test
+    void testSendInvalidPlayer() {
+        Component component = new Component("This is an example");
+        assertThrows(IllegalArgumentException.class, () -> serializer.send("Alex", component));
+    }
+
     @Test
     void testConverterMethod() {
         assertEquals(AdventureConverter.class, ComponentConverter.converter().getClass());
@@ -0,0 +1,43 @@
+package it.fulminazzo.amplitude.benchmarks;
+
+import it.fulminazzo.amplitude.component.Component;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the operations on an already parsed {@link Component}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ComponentBenchmark {
+    @Param({"short", "long", "tag_heavy"})
+    public String message;
+
+    private Component component;
+
+    @Setup
+    public void setup() {
+        this.component = Component.fromRaw(Messages.get(this.message));
+    }
+
+    @Benchmark
+    public String serialize() {
+        return this.component.serialize();
+    }
+
+    @Benchmark
+    public Component replace() {
+        return this.component.replace("e", "<blue>E", true);
+    }
+
+    @Benchmark
+    public Component copy() {
+        return this.component.copy();
+    }
+
+}
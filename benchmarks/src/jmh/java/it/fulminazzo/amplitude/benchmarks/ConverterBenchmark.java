@@ -0,0 +1,60 @@
+package it.fulminazzo.amplitude.benchmarks;
+
+import it.fulminazzo.amplitude.component.Component;
+import it.fulminazzo.amplitude.converter.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link ComponentConverter#convertComponent(Component)} for every available converter.
+ * The <i>adventure_flat</i> converter is an {@link AdventureConverter} with {@link AdventureConverter#setFlat(boolean)} enabled,
+ * so its allocation rate can be compared with the default nested tree.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConverterBenchmark {
+    @Param({"section_sign", "legacy_bungee", "bungee", "adventure", "adventure_flat"})
+    public String converter;
+    @Param({"short", "long", "tag_heavy"})
+    public String message;
+
+    private ComponentConverter componentConverter;
+    private Component component;
+
+    @Setup
+    public void setup() {
+        switch (this.converter) {
+            case "section_sign":
+                this.componentConverter = new SectionSignConverter();
+                break;
+            case "legacy_bungee":
+                this.componentConverter = new LegacyBungeeConverter();
+                break;
+            case "bungee":
+                this.componentConverter = new BungeeConverter();
+                break;
+            case "adventure":
+                this.componentConverter = new AdventureConverter();
+                break;
+            case "adventure_flat":
+                final AdventureConverter adventureConverter = new AdventureConverter();
+                adventureConverter.setFlat(true);
+                this.componentConverter = adventureConverter;
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown converter: " + this.converter);
+        }
+        this.component = Component.fromRaw(Messages.get(this.message));
+    }
+
+    @Benchmark
+    public Object convertComponent() {
+        return this.componentConverter.convertComponent(this.component);
+    }
+
+}
@@ -0,0 +1,56 @@
+package it.fulminazzo.amplitude.benchmarks;
+
+/**
+ * The raw messages used as inputs by the benchmarks.
+ */
+final class Messages {
+    /**
+     * A short message with a single color.
+     */
+    static final String SHORT = "<red>Hello world";
+    /**
+     * A message with many segments, resembling a book page or a long chat broadcast.
+     */
+    static final String LONG;
+    /**
+     * A message made mostly of tags, with nested containers and options.
+     */
+    static final String TAG_HEAVY = "<gold><bold>[Server]</bold> <!bold><gray>Welcome back, " +
+            "<hover action=SHOW_TEXT text=\"<aqua>Click to see your <yellow>profile\">" +
+            "<click action=RUN_COMMAND command=\"/profile\"><green><underlined>Alex</underlined></click></hover>" +
+            "<gray>! You have <hex color=#FF00AA>3</hex> <italic>new</italic> <strikethrough>old</strikethrough> messages. " +
+            "<insertion text=\"/mail read\"><dark_aqua>Shift-click here</insertion> <reset>or type " +
+            "<translatable arguments=\"Alex&3\">commands.mail.unread</translatable>";
+
+    static {
+        final String[] colors = {"red", "gold", "yellow", "green", "aqua", "blue", "light_purple", "gray"};
+        final StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 200; i++)
+            builder.append('<').append(colors[i % colors.length]).append('>')
+                    .append("This is line number ").append(i).append(" of a very long message. ");
+        LONG = builder.toString();
+    }
+
+    private Messages() {
+    }
+
+    /**
+     * Gets the message associated with the given name.
+     *
+     * @param name the name (one of short, long or tag_heavy)
+     * @return the message
+     */
+    static String get(final String name) {
+        switch (name) {
+            case "short":
+                return SHORT;
+            case "long":
+                return LONG;
+            case "tag_heavy":
+                return TAG_HEAVY;
+            default:
+                throw new IllegalArgumentException("Unknown message: " + name);
+        }
+    }
+
+}
@@ -0,0 +1,44 @@
+package it.fulminazzo.amplitude.benchmarks;
+
+import it.fulminazzo.amplitude.component.Component;
+import it.fulminazzo.amplitude.component.ComponentCodec;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link Component#fromRaw(String)} on different kinds of messages,
+ * compared to decoding them with {@link ComponentCodec#decode(byte[])}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParseBenchmark {
+    @Param({"short", "long", "tag_heavy"})
+    public String message;
+
+    private String raw;
+    private byte[] encoded;
+
+    @Setup
+    public void setup() {
+        // Measure the parser, not the cache
+        Component.setCache(null);
+        this.raw = Messages.get(this.message);
+        this.encoded = ComponentCodec.encode(Component.fromRaw(this.raw));
+    }
+
+    @Benchmark
+    public Component fromRaw() {
+        return Component.fromRaw(this.raw);
+    }
+
+    @Benchmark
+    public Component decode() {
+        return ComponentCodec.decode(this.encoded);
+    }
+
+}
@@ -0,0 +1,84 @@
+package it.fulminazzo.amplitude.benchmarks;
+
+import it.fulminazzo.amplitude.component.Component;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link Component#replace(String, String)} and {@link Component#replace(Map)}
+ * with the previous implementation, which rebuilt the serialized text one character at a time.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReplaceBenchmark {
+    @Param({"short", "long", "tag_heavy"})
+    public String message;
+
+    private Component component;
+    private Map<String, String> replacements;
+
+    @Setup
+    public void setup() {
+        Component.setCache(null);
+        this.component = Component.fromRaw(Messages.get(this.message));
+        this.replacements = new LinkedHashMap<>();
+        this.replacements.put("e", "E");
+        this.replacements.put("o", "0");
+        this.replacements.put("line", "row");
+    }
+
+    @Benchmark
+    public Component replaceSingle() {
+        return this.component.replace("e", "E");
+    }
+
+    @Benchmark
+    public Component replaceSingleLegacy() {
+        return Component.fromRaw(legacyReplace(this.component.serialize(), "e", "E"));
+    }
+
+    @Benchmark
+    public Component replaceMany() {
+        return this.component.replace(this.replacements);
+    }
+
+    @Benchmark
+    public Component replaceManyLegacy() {
+        Component replaced = this.component;
+        for (Map.Entry<String, String> entry : this.replacements.entrySet())
+            replaced = Component.fromRaw(legacyReplace(replaced.serialize(), entry.getKey(), entry.getValue()));
+        return replaced;
+    }
+
+    /**
+     * The replacement algorithm used before the single pass search.
+     *
+     * @param serialized the serialized component
+     * @param from       the section to replace
+     * @param to         the replacement
+     * @return the resulting text
+     */
+    @SuppressWarnings("StringConcatenationInLoop")
+    private static String legacyReplace(final String serialized, final String from, final String to) {
+        String finalSerialized = "";
+        String tmp = "";
+        for (char c : serialized.toCharArray()) {
+            tmp += c;
+            if (tmp.endsWith(from)) {
+                tmp = tmp.substring(0, tmp.length() - from.length());
+                finalSerialized += tmp;
+                finalSerialized += to;
+                tmp = "";
+            }
+        }
+        return finalSerialized + tmp;
+    }
+
+}
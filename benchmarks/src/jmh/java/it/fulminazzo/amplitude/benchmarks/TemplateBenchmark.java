@@ -0,0 +1,46 @@
+package it.fulminazzo.amplitude.benchmarks;
+
+import it.fulminazzo.amplitude.component.Component;
+import it.fulminazzo.amplitude.component.ComponentTemplate;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares filling placeholders with {@link ComponentTemplate#render(Object...)}
+ * against chaining {@link Component#replace(String, String)} on a parsed message.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TemplateBenchmark {
+    private static final String CHAT_FORMAT = "<gray>[<hover action=SHOW_TEXT text=\"Rank: {rank}\"><aqua>{player}</hover>] " +
+            "<dark_gray>- <white>{message}";
+
+    private ComponentTemplate template;
+    private Component component;
+
+    @Setup
+    public void setup() {
+        Component.setCache(null);
+        this.template = ComponentTemplate.compile(CHAT_FORMAT);
+        this.component = Component.fromRaw(CHAT_FORMAT);
+    }
+
+    @Benchmark
+    public Component render() {
+        return this.template.render("Admin", "Alex", "Hello world");
+    }
+
+    @Benchmark
+    public Component replace() {
+        return this.component
+                .replace("{rank}", "Admin")
+                .replace("{player}", "Alex")
+                .replace("{message}", "Hello world");
+    }
+
+}
@@ -11,9 +11,14 @@ import net.md_5.bungee.api.chat.TextComponent;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.lang.reflect.Method;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Map;
 import java.util.Objects;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
@@ -23,12 +28,50 @@ import java.util.stream.Collectors;
  * since it uses the BungeeCord API to create components.
  * <p>
  * Hex colors are <b>disabled</b>.
+ * <p>
+ * By default, every component is added to the extra of the previous one, so that the result is a deep tree
+ * where each component inherits the style of its parent.
+ * When {@link #isFlat()} is true, all the components are instead added to the extra of a single empty root:
+ * every component only keeps its own style and events.
  */
 @SuppressWarnings({"unchecked"})
 @Getter
 @Setter
 public class LegacyBungeeConverter extends ComponentConverter {
+    private static final Map<Style, BiConsumer<BaseComponent, Boolean>> STYLE_SETTERS = new EnumMap<>(Style.class);
+
+    static {
+        STYLE_SETTERS.put(Style.OBFUSCATED, BaseComponent::setObfuscated);
+        STYLE_SETTERS.put(Style.BOLD, BaseComponent::setBold);
+        STYLE_SETTERS.put(Style.STRIKETHROUGH, BaseComponent::setStrikethrough);
+        STYLE_SETTERS.put(Style.UNDERLINED, BaseComponent::setUnderlined);
+        STYLE_SETTERS.put(Style.ITALIC, BaseComponent::setItalic);
+    }
+
+    private static final ClassValue<Sender> SENDERS = new ClassValue<Sender>() {
+
+        @Override
+        protected Sender computeValue(@NotNull Class<?> type) {
+            return findSender(type);
+        }
+
+    };
+
     private boolean showingHex = false;
+    private boolean flat = false;
+
+    @Override
+    public <T> @Nullable T convertComponent(@Nullable Component component) {
+        if (!this.flat || component == null || component.getNext() == null) return super.convertComponent(component);
+        final TextComponent root = new TextComponent("");
+        for (Component current = component; current != null; current = current.getNext()) {
+            final BaseComponent c = (BaseComponent) convertSingle(current);
+            if (c == null) continue;
+            if (c instanceof TextComponent && ((TextComponent) c).getText() == null) ((TextComponent) c).setText("");
+            root.addExtra(c);
+        }
+        return (T) root;
+    }
 
     @Override
     public @Nullable BaseComponent convertSimpleComponent(@Nullable Component component) {
@@ -82,8 +125,7 @@ public class LegacyBungeeConverter extends ComponentConverter {
                 break;
             }
             default: {
-                String raw = component.getTagOption("text");
-                raw = new SectionSignConverter().convertComponent(Component.fromRaw(raw));
+                String raw = new SectionSignConverter().convertComponent(component.getTagOptionComponent("text"));
                 content = new TextComponent(raw);
             }
         }
@@ -218,14 +260,9 @@ public class LegacyBungeeConverter extends ComponentConverter {
      * @param value     the value
      */
     protected void setStyle(@NotNull BaseComponent component, @NotNull Style style, boolean value) {
-        String methodName = style.getName();
-        methodName = methodName.substring(0, 1).toUpperCase() + methodName.substring(1).toLowerCase();
-        try {
-            Method method = component.getClass().getMethod("set" + methodName, Boolean.class);
-            method.invoke(component, value);
-        } catch (Exception e) {
-            throw new RuntimeException(e);
-        }
+        final BiConsumer<BaseComponent, Boolean> setter = STYLE_SETTERS.get(style);
+        if (setter == null) throw new IllegalArgumentException("Cannot set style " + style.getName() + " on a component");
+        setter.accept(component, value);
     }
 
     /**
@@ -245,45 +282,83 @@ public class LegacyBungeeConverter extends ComponentConverter {
     public <T, P> void send(@Nullable P player, @Nullable T component) {
         if (player == null) return;
         if (component == null) return;
+        try {
+            SENDERS.get(player.getClass()).send(player, (BaseComponent) component);
+        } catch (Throwable e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Finds how to send a component to the players of the given class.
+     * On BungeeCord, the player must be a CommandSender.
+     * On Spigot, the player must be either a ConsoleCommandSender (that receives the legacy text) or a Player.
+     *
+     * @param playerClass the class of the player
+     * @return the sender
+     */
+    private static @NotNull Sender findSender(@NotNull Class<?> playerClass) {
+        final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+        final MethodType sendComponent = MethodType.methodType(void.class, BaseComponent.class);
         try {
             // BungeeCord
             try {
                 Class<?> clazz = Class.forName("net.md_5.bungee.api.CommandSender");
-                if (!clazz.isAssignableFrom(player.getClass()))
-                    throw new Exception(String.format("%s is not a %s", player, clazz.getCanonicalName()));
-                Method sendMessage = player.getClass().getMethod("sendMessage", BaseComponent.class);
-                sendMessage.invoke(player, component);
-                return;
+                if (!clazz.isAssignableFrom(playerClass)) return notA(clazz);
+                MethodHandle sendMessage = lookup.findVirtual(clazz, "sendMessage", sendComponent);
+                return (player, component) -> sendMessage.invoke(player, component);
             } catch (ClassNotFoundException ignored) {
             }
 
             // Spigot
             try {
                 Class<?> clazz = Class.forName("org.bukkit.command.ConsoleCommandSender");
-                if (!clazz.isAssignableFrom(player.getClass())) {
+                if (!clazz.isAssignableFrom(playerClass)) {
                     clazz = Class.forName("org.bukkit.entity.Player");
-                    if (!clazz.isAssignableFrom(player.getClass()))
-                        throw new Exception(String.format("%s is not a %s", player, clazz.getCanonicalName()));
-                    Method spigotMethod = player.getClass().getMethod("spigot");
-                    Object spigot = spigotMethod.invoke(player);
-                    Method sendMessage = spigot.getClass().getMethod("sendMessage", BaseComponent.class);
-                    sendMessage.setAccessible(true);
-                    sendMessage.invoke(spigot, component);
+                    if (!clazz.isAssignableFrom(playerClass)) return notA(clazz);
+                    Class<?> spigotClass = clazz.getMethod("spigot").getReturnType();
+                    MethodHandle spigot = lookup.findVirtual(clazz, "spigot", MethodType.methodType(spigotClass));
+                    MethodHandle sendMessage = lookup.findVirtual(spigotClass, "sendMessage", sendComponent);
+                    return (player, component) -> sendMessage.invoke(spigot.invoke(player), component);
                 } else {
-                    Method sendMessage = player.getClass().getMethod("sendMessage", String.class);
-                    sendMessage.setAccessible(true);
-                    sendMessage.invoke(player, ((BaseComponent) component).toLegacyText());
+                    MethodHandle sendMessage = lookup.findVirtual(clazz, "sendMessage",
+                            MethodType.methodType(void.class, String.class));
+                    return (player, component) -> sendMessage.invoke(player, component.toLegacyText());
                 }
-                return;
             } catch (ClassNotFoundException ignored) {
             }
 
-            throw new Exception("Platform not recognized: this serializer works only on BungeeCord or Spigot.");
-        } catch (Exception e) {
+            return (player, component) -> {
+                throw new Exception("Platform not recognized: this serializer works only on BungeeCord or Spigot.");
+            };
+        } catch (NoSuchMethodException | IllegalAccessException e) {
             throw new RuntimeException(e);
         }
     }
 
+    private static @NotNull Sender notA(@NotNull Class<?> clazz) {
+        return (player, component) -> {
+            throw new Exception(String.format("%s is not a %s", player, clazz.getCanonicalName()));
+        };
+    }
+
+    /**
+     * Sends a component to a player of a specific platform.
+     */
+    @FunctionalInterface
+    private interface Sender {
+
+        /**
+         * Sends the component to the player.
+         *
+         * @param player    the player
+         * @param component the component
+         * @throws Throwable if the component could not be sent
+         */
+        void send(@NotNull Object player, @NotNull BaseComponent component) throws Throwable;
+
+    }
+
     /**
      * Corrects the current component by removing any Hex color assignation from {@link HexComponent}.
      * This passage is mandatory and executed for every serialization method as in 1.15 and below Hex colors were NOT supported.
@@ -140,6 +140,26 @@ class LegacyBungeeConverterTest {
         assertEquals(c2.toString(), c.toString(), rawText);
     }
 
+    @Test
+    void testFlatComponent() {
+        LegacyBungeeConverter converter = new LegacyBungeeConverter();
+        converter.setFlat(true);
+        Component c1 = new Component("<red>Hello <bold>world<reset>!");
+        BaseComponent c2 = new net.md_5.bungee.api.chat.TextComponent("");
+        c2.addExtra(createComponent(ChatColor.RED + "Hello "));
+        c2.addExtra(createComponent(ChatColor.RED + "" + ChatColor.BOLD + "world"));
+        c2.addExtra(createComponent(ChatColor.RESET + "!", this::resetComponent));
+        assertEquals(c2, converter.convertComponent(c1));
+    }
+
+    @Test
+    void testFlatSingleComponent() {
+        LegacyBungeeConverter converter = new LegacyBungeeConverter();
+        converter.setFlat(true);
+        Component c1 = new Component("<red>Hello world");
+        assertEquals(serializer.<BaseComponent>convertComponent(c1), converter.convertComponent(c1));
+    }
+
     @Test
     void testSimpleComponent() {
         String rawText = "Hello world";
@@ -210,6 +230,12 @@ class LegacyBungeeConverterTest {
         verify(player, atLeastOnce()).sendMessage((BaseComponent) serializer.convertComponent(component));
     }
 
+    @Test
+    void testSendInvalidPlayer() {
+        Component component = new Component("This is an example");
+        assertThrows(RuntimeException.class, () -> serializer.send("Alex", component));
+    }
+
     @Test
     void testConverterMethod() {
         assertEquals(LegacyBungeeConverter.class, ComponentConverter.converter().getClass());
@@ -65,8 +65,7 @@ public final class BungeeConverter extends LegacyBungeeConverter {
                 break;
             }
             default: {
-                String raw = component.getTagOption("text");
-                raw = new SectionSignConverter().convertComponent(Component.fromRaw(raw));
+                String raw = new SectionSignConverter().convertComponent(component.getTagOptionComponent("text"));
                 content = new Text(raw);
             }
         }
@@ -159,6 +159,21 @@ class BungeeConverterTest {
         assertEquals(tmp.toString(), serializer.convertHoverComponent(c1).toString());
     }
 
+    @Test
+    void testFlatComponent() {
+        BungeeConverter converter = new BungeeConverter();
+        converter.setFlat(true);
+        Component c1 = new Component("<red>Hello <hex color=#FF00AA>world");
+        BaseComponent hello = new net.md_5.bungee.api.chat.TextComponent("Hello ");
+        hello.setColor(ChatColor.RED);
+        BaseComponent world = new net.md_5.bungee.api.chat.TextComponent("world");
+        world.setColor(ChatColor.of("#FF00AA"));
+        BaseComponent c2 = new net.md_5.bungee.api.chat.TextComponent("");
+        c2.addExtra(hello);
+        c2.addExtra(world);
+        assertEquals(c2, converter.convertComponent(c1));
+    }
+
     @Test
     void testHexComponent() {
         String color = "#FF00AA";
@@ -1,12 +1,8 @@
 package it.fulminazzo.amplitude.component;
 
-import it.fulminazzo.amplitude.util.StringUtils;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.Arrays;
-import java.util.stream.Stream;
-
 /**
  * An interface used for identifying Minecraft chat formatters.
  * See {@link Color} and {@link Style} for the implementations.
@@ -44,47 +40,18 @@ interface ChatFormatter {
      */
     static ChatFormatter getChatFormatter(@Nullable String name) {
         if (name == null) return null;
-        name = name.replace("dark_", "dark")
-                .replace("light_", "light");
-        if (name.equalsIgnoreCase("strike")) return Style.STRIKETHROUGH;
-
-        for (ChatFormatter c : Color.values())
-            if (c.getName().equalsIgnoreCase(name)) return c;
-
-        for (ChatFormatter c : Style.values()) {
-            String n = name;
-            if (c != Style.RESET && n.startsWith("!")) n = n.substring(1);
-            if (c.getName().equalsIgnoreCase(n)) return c;
-        }
-
-        if (name.length() == 1) return getChatFormatter(name.toLowerCase().charAt(0));
-        else return null;
+        return ChatFormatters.get(name);
     }
 
     /**
      * Find a valid chat formatter from {@link #getChatFormatters()} using its identifier char.
+     * Bold, italic, strikethrough and underlined can also be found from their first letter.
      *
      * @param identifierChar the identifier char
      * @return the chat formatter
      */
     static @Nullable ChatFormatter getChatFormatter(char identifierChar) {
-        identifierChar = Character.toLowerCase(identifierChar);
-        ChatFormatter[] chatFormatters = getChatFormatters();
-        for (ChatFormatter c : chatFormatters)
-            if (c.getIdentifierChar() == identifierChar)
-                return c;
-            /*
-                Allow compatibility for:
-                - bold (<b>)
-                - italic (<i>)
-                - strikethrough (<s>)
-                - underlined (<u>)
-             */
-            else if (c instanceof Style && !c.equals(Style.OBFUSCATED))
-                if (c.name().toLowerCase().charAt(0) == identifierChar)
-                    return c;
-
-        return null;
+        return ChatFormatters.get(identifierChar);
     }
 
     /**
@@ -93,8 +60,7 @@ interface ChatFormatter {
      * @return the chat formatters
      */
     static ChatFormatter @NotNull [] getChatFormatters() {
-        return Stream.concat(Arrays.stream(Style.values()), Arrays.stream(Color.values()))
-                .toArray(ChatFormatter[]::new);
+        return ChatFormatters.FORMATTERS.clone();
     }
 
     /**
@@ -105,11 +71,7 @@ interface ChatFormatter {
      * @return the replaced string
      */
     static @NotNull String replaceFormats(@NotNull String from) {
-        for (ChatFormatter formatter : getChatFormatters()) {
-            String[] tmp = StringUtils.splitQuoteSensitive(from, "[§&]" + formatter.getIdentifierChar());
-            from = String.join("<" + formatter.getName() + ">", tmp);
-        }
-        return from;
+        return ChatFormatters.replaceFormats(from);
     }
 
 }
@@ -0,0 +1,193 @@
+package it.fulminazzo.amplitude.component;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The lookup tables used by {@link ChatFormatter} to find {@link Style}s and {@link Color}s,
+ * built once when the class is initialized.
+ */
+final class ChatFormatters {
+    /**
+     * All the styles followed by all the colors.
+     */
+    static final ChatFormatter @NotNull [] FORMATTERS;
+    private static final ChatFormatter @NotNull [] BY_CHAR = new ChatFormatter[128];
+    // Only the exact identifier chars, used to translate legacy codes
+    private static final ChatFormatter @NotNull [] BY_CODE = new ChatFormatter[128];
+    private static final @NotNull NameTable<ChatFormatter> BY_NAME;
+    // Styles (except for reset) preceded by '!'
+    private static final @NotNull NameTable<ChatFormatter> NEGATED_STYLES;
+    // Colors written as "dark_<name>" and "light_<name>"
+    private static final @NotNull NameTable<ChatFormatter> DARK_COLORS;
+    private static final @NotNull NameTable<ChatFormatter> LIGHT_COLORS;
+    // The length of "&R&R&G&G&B&B"
+    private static final int HEX_SEQUENCE_LENGTH = 12;
+
+    static {
+        final Style[] styles = Style.values();
+        final Color[] colors = Color.values();
+        FORMATTERS = new ChatFormatter[styles.length + colors.length];
+        System.arraycopy(styles, 0, FORMATTERS, 0, styles.length);
+        System.arraycopy(colors, 0, FORMATTERS, styles.length, colors.length);
+
+        for (ChatFormatter formatter : FORMATTERS) {
+            BY_CODE[formatter.getIdentifierChar()] = formatter;
+            putIfAbsent(formatter.getIdentifierChar(), formatter);
+            /*
+                Allow compatibility for:
+                - bold (<b>)
+                - italic (<i>)
+                - strikethrough (<s>)
+                - underlined (<u>)
+             */
+            if (formatter instanceof Style && formatter != Style.OBFUSCATED)
+                putIfAbsent(formatter.name().toLowerCase().charAt(0), formatter);
+        }
+
+        final Map<String, ChatFormatter> byName = new LinkedHashMap<>();
+        final Map<String, ChatFormatter> negatedStyles = new LinkedHashMap<>();
+        final Map<String, ChatFormatter> darkColors = new LinkedHashMap<>();
+        final Map<String, ChatFormatter> lightColors = new LinkedHashMap<>();
+        byName.put("strike", Style.STRIKETHROUGH);
+        for (Color color : colors) {
+            final String name = color.getName();
+            byName.put(name, color);
+            if (name.startsWith("dark")) darkColors.put(name.substring("dark".length()), color);
+            if (name.startsWith("light")) lightColors.put(name.substring("light".length()), color);
+        }
+        for (Style style : styles) {
+            byName.put(style.getName(), style);
+            if (style != Style.RESET) negatedStyles.put(style.getName(), style);
+        }
+        BY_NAME = new NameTable<>(byName);
+        NEGATED_STYLES = new NameTable<>(negatedStyles);
+        DARK_COLORS = new NameTable<>(darkColors);
+        LIGHT_COLORS = new NameTable<>(lightColors);
+    }
+
+    private ChatFormatters() {
+    }
+
+    private static void putIfAbsent(final char identifierChar, final @NotNull ChatFormatter formatter) {
+        if (identifierChar < BY_CHAR.length && BY_CHAR[identifierChar] == null) BY_CHAR[identifierChar] = formatter;
+    }
+
+    /**
+     * Finds a chat formatter from its name.
+     * Names are not case-sensitive, and can be written with "dark_" and "light_" for colors
+     * or preceded by '!' for styles (except for reset).
+     *
+     * @param name the name
+     * @return the chat formatter, or null if not found
+     */
+    static @Nullable ChatFormatter get(final @NotNull String name) {
+        ChatFormatter formatter;
+        if (name.startsWith("dark_")) formatter = DARK_COLORS.get(name, "dark_".length());
+        else if (name.startsWith("light_")) formatter = LIGHT_COLORS.get(name, "light_".length());
+        else if (name.startsWith("!")) formatter = NEGATED_STYLES.get(name, 1);
+        else formatter = BY_NAME.get(name, 0);
+        if (formatter == null && name.length() == 1) formatter = get(Character.toLowerCase(name.charAt(0)));
+        return formatter;
+    }
+
+    /**
+     * Finds a chat formatter from its identifier char.
+     *
+     * @param identifierChar the identifier char
+     * @return the chat formatter, or null if not found
+     */
+    static @Nullable ChatFormatter get(char identifierChar) {
+        identifierChar = Character.toLowerCase(identifierChar);
+        return identifierChar < BY_CHAR.length ? BY_CHAR[identifierChar] : null;
+    }
+
+    /**
+     * Replaces all the legacy codes (an ampersand or section sign followed by an identifier char)
+     * with their respective tags, in a single pass.
+     * Codes inside quotes are ignored, while "&amp;x&amp;R&amp;R&amp;G&amp;G&amp;B&amp;B" sequences
+     * are replaced with a <i>hex</i> tag.
+     * <p>
+     * Codes at the end of the string are dropped the same way as when every formatter was replaced in turn:
+     * going through {@link #FORMATTERS}, the last code is dropped as long as it belongs to the current formatter.
+     *
+     * @param from the source
+     * @return the replaced string
+     */
+    static @NotNull String replaceFormats(final @NotNull String from) {
+        final int length = from.length();
+        StringBuilder builder = null;
+        int copied = 0;
+        // The codes at the end of the string, and where they start in the builder
+        final List<ChatFormatter> trailing = new ArrayList<>();
+        int trailingStart = 0;
+
+        int i = 0;
+        while (i < length) {
+            final char c = from.charAt(i);
+            if (c == '"' || c == '\'') {
+                final int end = from.indexOf(c, i + 1);
+                if (end != -1) {
+                    i = end + 1;
+                    trailing.clear();
+                    continue;
+                }
+            } else if (isCodeChar(c) && i + 1 < length) {
+                final char code = from.charAt(i + 1);
+                final ChatFormatter formatter = code < BY_CODE.length ? BY_CODE[code] : null;
+                final boolean hex = formatter == null && code == 'x' && isHexSequence(from, i + 2);
+                if (formatter != null || hex) {
+                    if (builder == null) builder = new StringBuilder(length + 16);
+                    builder.append(from, copied, i);
+                    if (hex) {
+                        trailing.clear();
+                        builder.append("<hex color=#");
+                        for (int j = i + 3; j < i + 2 + HEX_SEQUENCE_LENGTH; j += 2) builder.append(from.charAt(j));
+                        builder.append('>');
+                        i += 2 + HEX_SEQUENCE_LENGTH;
+                    } else {
+                        if (trailing.isEmpty()) trailingStart = builder.length();
+                        trailing.add(formatter);
+                        builder.append('<').append(formatter.getName()).append('>');
+                        i += 2;
+                    }
+                    copied = i;
+                    continue;
+                }
+            }
+            trailing.clear();
+            i++;
+        }
+
+        if (builder == null) return from;
+        builder.append(from, copied, length);
+        if (!trailing.isEmpty()) {
+            int end = trailing.size();
+            for (ChatFormatter formatter : FORMATTERS)
+                while (end > 0 && trailing.get(end - 1) == formatter) end--;
+            builder.setLength(trailingStart);
+            for (int j = 0; j < end; j++) builder.append('<').append(trailing.get(j).getName()).append('>');
+        }
+        return builder.toString();
+    }
+
+    private static boolean isCodeChar(final char c) {
+        return c == '&' || c == '§';
+    }
+
+    private static boolean isHexSequence(final @NotNull String string, final int start) {
+        if (start + HEX_SEQUENCE_LENGTH > string.length()) return false;
+        for (int i = start; i < start + HEX_SEQUENCE_LENGTH; i += 2) {
+            if (!isCodeChar(string.charAt(i))) return false;
+            final char c = string.charAt(i + 1);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f') && (c < 'A' || c > 'F')) return false;
+        }
+        return true;
+    }
+
+}
@@ -8,7 +8,9 @@ import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * An enum that represents all Minecraft colors.
@@ -112,6 +114,38 @@ public final class Color implements ChatFormatter {
      */
     public static final Color WHITE = new Color('f');
 
+    // Lookup tables of the default values, built once when the class is initialized
+    private static final Color @NotNull [] VALUES;
+    private static final String @NotNull [] NAMES;
+    private static final String @NotNull [] LOWERCASE_NAMES;
+    private static final int @NotNull [] INDEXES = new int[128];
+    private static final @NotNull NameTable<Color> NAME_TABLE;
+
+    static {
+        final List<Color> values = new ArrayList<>();
+        final List<String> names = new ArrayList<>();
+        for (Field field : Color.class.getDeclaredFields())
+            try {
+                if (Modifier.isStatic(field.getModifiers()) && field.getType().equals(Color.class)) {
+                    values.add((Color) field.get(Color.class));
+                    names.add(field.getName());
+                }
+            } catch (IllegalAccessException e) {
+                throw new RuntimeException(e);
+            }
+        VALUES = values.toArray(new Color[0]);
+        NAMES = names.toArray(new String[0]);
+        LOWERCASE_NAMES = new String[NAMES.length];
+        Arrays.fill(INDEXES, -1);
+        final Map<String, Color> nameTable = new LinkedHashMap<>();
+        for (int i = 0; i < VALUES.length; i++) {
+            LOWERCASE_NAMES[i] = NAMES[i].toLowerCase().replace("_", "");
+            if (INDEXES[VALUES[i].identifierChar] == -1) INDEXES[VALUES[i].identifierChar] = i;
+            nameTable.put(NAMES[i], VALUES[i]);
+        }
+        NAME_TABLE = new NameTable<>(nameTable);
+    }
+
     private final char identifierChar;
     private String code;
 
@@ -136,16 +170,18 @@ public final class Color implements ChatFormatter {
 
     @Override
     public @NotNull String name() {
-        Field[] fields = Color.class.getDeclaredFields();
-        for (Field field : fields)
-            try {
-                if (Modifier.isStatic(field.getModifiers()) && field.get(Color.class).equals(this))
-                    return field.getName();
-            } catch (ClassCastException ignored) {
-            } catch (IllegalAccessException e) {
-                throw new RuntimeException(e);
-            }
-        return "CUSTOM";
+        final int index = index();
+        return index == -1 ? "CUSTOM" : NAMES[index];
+    }
+
+    @Override
+    public @NotNull String getName() {
+        final int index = index();
+        return index == -1 ? "custom" : LOWERCASE_NAMES[index];
+    }
+
+    private int index() {
+        return isCustom() || identifierChar >= INDEXES.length ? -1 : INDEXES[identifierChar];
     }
 
     /**
@@ -155,9 +191,7 @@ public final class Color implements ChatFormatter {
      * @return the color
      */
     public static @Nullable Color valueOf(final String name) {
-        return Arrays.stream(values())
-                .filter(v -> v.name().equalsIgnoreCase(name))
-                .findFirst().orElse(null);
+        return NAME_TABLE.get(name);
     }
 
     /**
@@ -167,9 +201,9 @@ public final class Color implements ChatFormatter {
      * @return the color
      */
     public static @Nullable Color valueOf(final char identifierChar) {
-        return Arrays.stream(values())
-                .filter(v -> v.getIdentifierChar() == Character.toLowerCase(identifierChar))
-                .findFirst().orElse(null);
+        final char c = Character.toLowerCase(identifierChar);
+        if (c >= INDEXES.length || INDEXES[c] == -1) return null;
+        return VALUES[INDEXES[c]];
     }
 
     /**
@@ -178,16 +212,7 @@ public final class Color implements ChatFormatter {
      * @return the values
      */
     public static Color @NotNull [] values() {
-        List<Color> values = new ArrayList<>();
-        for (Field field : Color.class.getDeclaredFields())
-            try {
-                if (Modifier.isStatic(field.getModifiers()))
-                    values.add((Color) field.get(Color.class));
-            } catch (ClassCastException ignored) {
-            } catch (IllegalAccessException e) {
-                throw new RuntimeException(e);
-            }
-        return values.toArray(new Color[0]);
+        return VALUES.clone();
     }
 
     /**
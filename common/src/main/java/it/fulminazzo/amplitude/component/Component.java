@@ -1,5 +1,7 @@
 package it.fulminazzo.amplitude.component;
 
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import it.fulminazzo.amplitude.converter.ComponentConverter;
 import it.fulminazzo.amplitude.converter.SectionSignConverter;
 import it.fulminazzo.fulmicollection.utils.ClassUtils;
@@ -7,8 +9,11 @@ import lombok.Getter;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.IOException;
+import java.io.StringReader;
 import java.lang.reflect.*;
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -29,24 +34,28 @@ import java.util.regex.Pattern;
  *     <li>&#60;translatable&#62; which creates a new {@link TranslatableComponent}</li>
  * </ul>
  */
-public class Component {
+public class Component implements Cloneable {
     public static final Pattern TAG_REGEX = Pattern.compile("<([^<>]+|\"[^<>\"]*<[^<>\"]*>\"|'[^<>]*<[^<>]*>')>", Pattern.DOTALL);
-    static final Pattern WHITE_SPACE_PATTERN = Pattern.compile("\\s.*", Pattern.DOTALL);
     static final Map<String, Function<String, Component>> CONTAINER_COMPONENTS = new HashMap<>();
+    private static final Style[] STYLES = Style.values();
+    private static final int STYLES_SET_MASK = 0x555;
+    private static final int RESET_MASK = 0b11 << (Style.RESET.ordinal() << 1);
+    private static volatile @Nullable ComponentCache cache;
     @Getter
-    protected Component next;
+    protected transient Component next;
     @Getter
     protected Color color;
     @Getter
     protected Font font;
-    protected Boolean obfuscated;
-    protected Boolean bold;
-    protected Boolean strikethrough;
-    protected Boolean underlined;
-    protected Boolean italic;
-    protected Boolean reset;
+    // Two bits for every style, in the order of Style#ordinal(): the lowest tells if the style is set, the highest its value
+    protected transient int styleFlags;
     @Getter
-    protected @Nullable String text;
+    protected transient @Nullable String text;
+    private transient boolean frozen;
+    // The last known component of the chain starting from this component (see #getTail())
+    private transient Component tail;
+    // The component whose known tail follows this component, invalidated when the next of this component is replaced
+    private transient Component tailOwner;
 
     static {
         Set<Class<?>> classes = ClassUtils.findClassesInPackage(Component.class.getPackage().getName(), Component.class);
@@ -99,6 +108,17 @@ public class Component {
         ComponentConverter.converter().send(player, this);
     }
 
+    /**
+     * Sends the current component to all the given players.
+     * The component is converted only once for all of them.
+     *
+     * @param <P>     the player type
+     * @param players the players
+     */
+    public <P> void broadcast(final @NotNull Iterable<P> players) {
+        ComponentConverter.converter().broadcast(players, this);
+    }
+
     /**
      * Sets content.
      *
@@ -106,68 +126,80 @@ public class Component {
      * @return this component
      */
     public @NotNull Component setContent(@Nullable String rawText) {
+        checkNotFrozen();
         setText("");
         setNext((String) null);
         if (rawText == null || rawText.isEmpty()) return this;
-        rawText = ChatFormatter.replaceFormats(rawText);
-        final Matcher matcher = TAG_REGEX.matcher(rawText);
-
-        if (matcher.find()) {
-            if (matcher.start() != 0) {
-                setText(rawText.substring(0, matcher.start()));
-                String remainder = rawText.substring(matcher.start());
-                if (getNext() != null) addNext(remainder);
-                else setNext(remainder);
-                return this;
-            } else setText("");
-
-            final String tag = matcher.group(1).split(" ")[0];
-            String fullTag = matcher.group();
-
-            if (this.getClass().equals(Component.class))
-                for (String key : CONTAINER_COMPONENTS.keySet())
-                    if (tag.equals(key)) {
-                        setNext(CONTAINER_COMPONENTS.get(key).apply(rawText));
-                        return this;
-                    }
+        parseContent(ChatFormatter.replaceFormats(rawText));
+        return this;
+    }
 
-            rawText = rawText.substring(fullTag.length());
+    /**
+     * Parses the given raw text in a single pass using a {@link ComponentTokenizer}.
+     * Every segment is read as a range of the raw text, then all the parsed components are linked
+     * from the last to the first, so that merging and propagation of the options
+     * behave as if every remainder had been parsed using {@link #fromRaw(String)}.
+     *
+     * @param rawText the raw text (with formats already replaced)
+     */
+    private void parseContent(final @NotNull String rawText) {
+        final ComponentTokenizer tokenizer = new ComponentTokenizer(rawText);
+        final int length = rawText.length();
+        final List<Component> parsed = new ArrayList<>();
+        Component current = this;
+        Component last = null;
+
+        while (current != null && tokenizer.next()) {
+            final Component component = current;
+            parsed.add(component);
+            current = null;
+
+            if (tokenizer.getType() == ComponentTokenizer.TokenType.TEXT) {
+                component.setText(tokenizer.getText());
+                if (tokenizer.getEnd() < length) current = new Component();
+                continue;
+            }
+
+            final String tag = tokenizer.getTagName();
+            if (component.getClass().equals(Component.class)) {
+                Function<String, Component> container = CONTAINER_COMPONENTS.get(tag);
+                if (container != null) {
+                    last = container.apply(rawText.substring(tokenizer.getStart()));
+                    break;
+                }
+            }
 
             ChatFormatter formatter = ChatFormatter.getChatFormatter(tag);
             // For not recognized tags.
             if (formatter == null) {
-                while (WHITE_SPACE_PATTERN.matcher(rawText).matches()) {
-                    fullTag += rawText.substring(0, 1);
-                    rawText = rawText.substring(1);
-                }
-                return setText(fullTag).setNext(rawText);
+                int end = tokenizer.getEnd();
+                while (end < length && isWhiteSpace(rawText.charAt(end))) end++;
+                component.setText(rawText.substring(tokenizer.getStart(), end));
+                tokenizer.seek(end);
+                if (end < length) current = new Component();
+                else last = new Component();
+                continue;
             }
 
-            this.text = rawText;
-            if (matcher.find()) {
-                setText(this.text.substring(0, matcher.start() - fullTag.length()));
-            }
+            int textEnd = tokenizer.findNextTag(tokenizer.getEnd());
+            if (textEnd == -1) textEnd = length;
+            component.setText(rawText.substring(tokenizer.getEnd(), textEnd));
+            tokenizer.seek(textEnd);
 
-            rawText = rawText.substring(this.text.length());
-
-            if (formatter instanceof Color) this.color = (Color) formatter;
-            else if (formatter.equals(Style.RESET)) reset(true);
-            else {
-                try {
-                    Field field = Component.class.getDeclaredField(formatter.getName());
-                    field.setAccessible(true);
-                    field.set(this, !tag.startsWith("!"));
-                } catch (IllegalAccessException | NoSuchFieldException e) {
-                    throw new RuntimeException(e);
-                }
-            }
-        } else {
-            setText(rawText);
-            rawText = "";
+            if (formatter instanceof Color) component.color = (Color) formatter;
+            else if (formatter.equals(Style.RESET)) component.reset(true);
+            else component.setStyle((Style) formatter, !tag.startsWith("!"), false);
+
+            if (!isBlank(rawText, textEnd)) current = new Component();
         }
 
-        if (rawText.trim().isEmpty()) return this;
-        else return getNext() == null ? setNext(rawText) : addNext(rawText);
+        Component next = last;
+        for (int i = parsed.size() - 1; i >= 0; i--) {
+            final Component component = parsed.get(i);
+            if (next != null) component.setNext(next);
+            next = component;
+            while (next != null && next.isEmpty()) next = next.getNext();
+        }
     }
 
     /**
@@ -177,7 +209,7 @@ public class Component {
      * @return this component
      */
     public @NotNull Component addNext(@Nullable String rawText) {
-        return addNext(rawText == null ? null : Component.fromRaw(rawText));
+        return addNext(rawText == null ? null : Component.parse(rawText));
     }
 
     /**
@@ -187,12 +219,47 @@ public class Component {
      * @return this component
      */
     public @NotNull Component addNext(@Nullable Component next) {
+        checkNotFrozen();
         if (next == null) return this;
-        if (this.next != null) this.next.addNext(next);
-        else setNext(next);
+        final Component last = getTail();
+        last.setNext(next);
+        this.tail = findTail(last);
         return this;
     }
 
+    /**
+     * Gets the last component of the chain starting from this component.
+     * The result of the previous search is reused, unless the next of one of the components
+     * met has been replaced (using {@link #setNext(Component)}) in the meantime.
+     *
+     * @return the last component
+     */
+    private @NotNull Component getTail() {
+        final Component tail = this.tail;
+        return findTail(tail == null ? this : tail);
+    }
+
+    /**
+     * Walks the chain from the given component to its last component.
+     * Every component met is marked as owned by this component, so that replacing its next
+     * invalidates the tail of this component (and of no other one).
+     *
+     * @param from the component to start from
+     * @return the last component
+     */
+    private @NotNull Component findTail(final @NotNull Component from) {
+        Component last = from;
+        while (true) {
+            final Component owner = last.tailOwner;
+            if (owner != this) {
+                if (owner != null) owner.tail = null;
+                last.tailOwner = this;
+            }
+            if (last.next == null) return last;
+            last = last.next;
+        }
+    }
+
     /**
      * Set the next component (if {@link #isSimilar(Component)} merge it with the current component).
      * Then, apply {@link #setSameOptions(Component)} method.
@@ -201,18 +268,21 @@ public class Component {
      * @return this component
      */
     public @NotNull Component setNext(@Nullable String rawText) {
-        return setNext(rawText == null ? null : Component.fromRaw(rawText));
+        return setNext(rawText == null ? null : Component.parse(rawText));
     }
 
     /**
      * Set the next component (if {@link #isSimilar(Component)} merge it with the current component).
      * Then, apply {@link #setSameOptions(Component)} method.
+     * If the next component is frozen, a modifiable copy of it is used.
      *
      * @param next the next
      * @return this component
      */
     public @NotNull Component setNext(Component next) {
-        this.next = next;
+        checkNotFrozen();
+        if (this.next != null && this.tailOwner != null) this.tailOwner.tail = null;
+        this.next = next == null ? null : next.thaw();
 
         if (this.next != null) setSameOptions(this.next);
 
@@ -232,92 +302,42 @@ public class Component {
      * @return this component
      */
     @NotNull Component setSameOptions(@Nullable Component component) {
-        if (component == null) return this;
-
-        if (isReset() || component.isReset()) return this;
-
-        try {
-            for (Field field : getOptionFields()) {
-                if (Component.class.isAssignableFrom(field.getType())) continue;
-                if (Modifier.isFinal(field.getModifiers())) continue;
-                if (field.getName().equals("reset")) continue;
-                Object nextObject = field.get(component);
-                if (nextObject != null) continue;
-                field.set(component, field.get(this));
+        Component previous = this;
+        while (component != null && !previous.isReset() && !component.isReset()) {
+            component.checkNotFrozen();
+
+            final OptionFields options = OptionFields.of(previous.getClass());
+            for (int i = 0; i < options.size(); i++) {
+                if (!options.isInheritable(i)) continue;
+                if (options.get(i, component) != null) continue;
+                options.set(i, component, options.get(i, previous));
             }
 
+            // Inherit every style not set in the component, except for reset
+            final int missing = ~component.styleFlags & STYLES_SET_MASK & ~RESET_MASK;
+            component.styleFlags |= previous.styleFlags & (missing | missing << 1);
+
+            // A child not parsed yet will inherit from its container once parsed
             if (component instanceof ContainerComponent)
                 component.setSameOptions(((ContainerComponent<?>) component).child);
 
-        } catch (IllegalAccessException e) {
-            throw new RuntimeException(e);
+            previous = component;
+            component = component.getNext();
         }
-
-        component.setSameOptions(component.getNext());
         return this;
     }
 
-    /**
-     * Get all the options as an object array.
-     *
-     * @return the objects
-     */
-    Object @NotNull [] getOptions() {
-        List<Object> objects = new ArrayList<>();
-        for (Field field : getOptionFields()) {
-            try {
-                field.setAccessible(true);
-                objects.add(field.get(this));
-            } catch (IllegalAccessException e) {
-                throw new RuntimeException(e);
-            }
-        }
-        return objects.toArray(new Object[0]);
-    }
-
-    /**
-     * Get all the options as a field array.
-     *
-     * @return the fields
-     */
-    Field @NotNull [] getOptionFields() {
-        List<Field> fields = new ArrayList<>();
-        Class<?> clazz = this.getClass();
-        // Ignore custom fields
-        if (CustomComponent.class.isAssignableFrom(clazz))
-            while (clazz != CustomComponent.class) clazz = clazz.getSuperclass();
-        if (CustomContainerComponent.class.isAssignableFrom(clazz))
-            while (clazz != CustomContainerComponent.class) clazz = clazz.getSuperclass();
-        while (Component.class.isAssignableFrom(clazz)) {
-            Arrays.stream(clazz.getDeclaredFields())
-                    .filter(f -> !Modifier.isStatic(f.getModifiers()))
-                    .filter(f -> !Modifier.isFinal(f.getModifiers()))
-                    .filter(f -> !f.getName().equals("this$0"))
-                    .filter(f -> !f.getName().equals("text"))
-                    .filter(f -> !f.getName().equals("next"))
-                    .peek(f -> f.setAccessible(true))
-                    .forEach(fields::add);
-            clazz = clazz.getSuperclass();
-        }
-        return fields.toArray(new Field[0]);
-    }
-
     /**
      * Get all the applied styles.
      *
      * @return the styles.
      */
     public Style @NotNull [] getStyles() {
-        return Arrays.stream(Style.values())
-                .filter(v -> {
-                    try {
-                        Field field = Component.class.getDeclaredField(v.name().toLowerCase());
-                        field.setAccessible(true);
-                        return field.get(this) != null;
-                    } catch (Exception e) {
-                        throw new RuntimeException(e);
-                    }
-                }).toArray(Style[]::new);
+        final Style[] styles = new Style[Integer.bitCount(styleFlags & STYLES_SET_MASK)];
+        int i = 0;
+        for (Style style : STYLES)
+            if ((styleFlags & (0b01 << (style.ordinal() << 1))) != 0) styles[i++] = style;
+        return styles;
     }
 
     /**
@@ -327,6 +347,7 @@ public class Component {
      * @return this component
      */
     public @NotNull Component setText(final @Nullable String text) {
+        checkNotFrozen();
         this.text = text;
         return this;
     }
@@ -349,6 +370,7 @@ public class Component {
      * @return this component
      */
     public @NotNull Component setColor(Color color, boolean propagate) {
+        checkNotFrozen();
         this.color = color;
         if (propagate) setSameOptions(next);
         return this;
@@ -372,6 +394,7 @@ public class Component {
      * @return this component
      */
     public @NotNull Component setFont(Font font, boolean propagate) {
+        checkNotFrozen();
         this.font = font;
         if (propagate) setSameOptions(next);
         return this;
@@ -383,7 +406,7 @@ public class Component {
      * @return the obfuscated
      */
     public boolean isObfuscated() {
-        return obfuscated != null && obfuscated;
+        return hasStyle(Style.OBFUSCATED);
     }
 
     /**
@@ -404,7 +427,8 @@ public class Component {
      * @return this component
      */
     public @NotNull Component setObfuscated(Boolean obfuscated, boolean propagate) {
-        this.obfuscated = obfuscated;
+        checkNotFrozen();
+        setStyleFlag(Style.OBFUSCATED, obfuscated);
         if (propagate) setSameOptions(next);
         return this;
     }
@@ -415,7 +439,7 @@ public class Component {
      * @return the bold
      */
     public boolean isBold() {
-        return bold != null && bold;
+        return hasStyle(Style.BOLD);
     }
 
     /**
@@ -436,7 +460,8 @@ public class Component {
      * @return this component
      */
     public @NotNull Component setBold(Boolean bold, boolean propagate) {
-        this.bold = bold;
+        checkNotFrozen();
+        setStyleFlag(Style.BOLD, bold);
         if (propagate) setSameOptions(next);
         return this;
     }
@@ -447,7 +472,7 @@ public class Component {
      * @return the strikethrough
      */
     public boolean isStrikethrough() {
-        return strikethrough != null && strikethrough;
+        return hasStyle(Style.STRIKETHROUGH);
     }
 
     /**
@@ -468,7 +493,8 @@ public class Component {
      * @return this component
      */
     public @NotNull Component setStrikethrough(Boolean strikethrough, boolean propagate) {
-        this.strikethrough = strikethrough;
+        checkNotFrozen();
+        setStyleFlag(Style.STRIKETHROUGH, strikethrough);
         if (propagate) setSameOptions(next);
         return this;
     }
@@ -479,7 +505,7 @@ public class Component {
      * @return the underlined
      */
     public boolean isUnderlined() {
-        return underlined != null && underlined;
+        return hasStyle(Style.UNDERLINED);
     }
 
     /**
@@ -500,7 +526,8 @@ public class Component {
      * @return this component
      */
     public @NotNull Component setUnderlined(Boolean underlined, boolean propagate) {
-        this.underlined = underlined;
+        checkNotFrozen();
+        setStyleFlag(Style.UNDERLINED, underlined);
         if (propagate) setSameOptions(next);
         return this;
     }
@@ -511,7 +538,7 @@ public class Component {
      * @return the italic
      */
     public boolean isItalic() {
-        return italic != null && italic;
+        return hasStyle(Style.ITALIC);
     }
 
     /**
@@ -532,7 +559,8 @@ public class Component {
      * @return this component
      */
     public @NotNull Component setItalic(Boolean italic, boolean propagate) {
-        this.italic = italic;
+        checkNotFrozen();
+        setStyleFlag(Style.ITALIC, italic);
         if (propagate) setSameOptions(next);
         return this;
     }
@@ -543,7 +571,7 @@ public class Component {
      * @return the reset
      */
     public boolean isReset() {
-        return reset != null && reset;
+        return hasStyle(Style.RESET);
     }
 
     /**
@@ -564,7 +592,8 @@ public class Component {
      * @return this component
      */
     public @NotNull Component reset(@NotNull Boolean reset, boolean propagate) {
-        this.reset = reset;
+        checkNotFrozen();
+        setStyleFlag(Style.RESET, reset);
         if (reset) {
             setColor(Color.WHITE, false);
             for (Style style : Style.values())
@@ -584,13 +613,30 @@ public class Component {
      */
     public Boolean getStyle(@Nullable Style style) {
         if (style == null) return false;
-        try {
-            Field field = Component.class.getDeclaredField(style.name().toLowerCase());
-            field.setAccessible(true);
-            return (Boolean) field.get(this);
-        } catch (IllegalAccessException | NoSuchFieldException e) {
-            throw new RuntimeException(e);
-        }
+        final int flag = (styleFlags >>> (style.ordinal() << 1)) & 0b11;
+        return flag == 0 ? null : flag == 0b11;
+    }
+
+    /**
+     * Checks if the given style is set to true.
+     *
+     * @param style the style
+     * @return true if it is
+     */
+    private boolean hasStyle(final @NotNull Style style) {
+        return (styleFlags & (0b10 << (style.ordinal() << 1))) != 0;
+    }
+
+    /**
+     * Sets the flag of the given style, without propagating it.
+     *
+     * @param style the style
+     * @param value the value (null to unset it)
+     */
+    private void setStyleFlag(final @NotNull Style style, final @Nullable Boolean value) {
+        final int shift = style.ordinal() << 1;
+        final int flag = value == null ? 0 : value ? 0b11 : 0b01;
+        styleFlags = (styleFlags & ~(0b11 << shift)) | (flag << shift);
     }
 
     /**
@@ -623,19 +669,22 @@ public class Component {
      * @return this component
      */
     public @NotNull Component setStyle(@Nullable Style style, Boolean value, boolean propagate) {
+        checkNotFrozen();
         if (style == null) return this;
-        String methodName = style.name();
-        methodName = methodName.charAt(0) + methodName.substring(1).toLowerCase();
-        if (style != Style.RESET) methodName = "set" + methodName;
-        else methodName = methodName.toLowerCase();
-
-        try {
-            Method setMethod = Component.class.getDeclaredMethod(methodName, Boolean.class, boolean.class);
-            setMethod.invoke(this, value, propagate);
-        } catch (Exception e) {
-            throw new RuntimeException(e);
+        switch (style) {
+            case OBFUSCATED:
+                return setObfuscated(value, propagate);
+            case BOLD:
+                return setBold(value, propagate);
+            case STRIKETHROUGH:
+                return setStrikethrough(value, propagate);
+            case UNDERLINED:
+                return setUnderlined(value, propagate);
+            case ITALIC:
+                return setItalic(value, propagate);
+            default:
+                return reset(value, propagate);
         }
-        return this;
     }
 
     /**
@@ -681,32 +730,34 @@ public class Component {
      * @return the text component
      */
     public @NotNull Component replace(final @NotNull String from, final @NotNull String to, final boolean maintainColor) {
-        final HashSet<ChatFormatter> colors = new LinkedHashSet<>();
-        final String serialized = serialize();
-        String finalSerialized = "";
-        String tmp = "";
-        for (char c : serialized.toCharArray()) {
-            tmp += c;
-            if (tmp.endsWith(from)) {
-                tmp = tmp.substring(0, tmp.length() - from.length());
-                finalSerialized += tmp;
-                finalSerialized += to;
-                if (maintainColor) {
-                    final Matcher tagMatcher = TAG_REGEX.matcher(tmp);
-                    while (tagMatcher.find()) {
-                        final ChatFormatter formatter = ChatFormatter.getChatFormatter(tagMatcher.group(1));
-                        if (formatter == null) continue;
-                        if (formatter == Style.RESET) colors.clear();
-                        else if (formatter instanceof Color) colors.removeIf(s -> s instanceof Color);
-                        colors.add(formatter);
-                    }
-                    for (final ChatFormatter color : colors)
-                        finalSerialized += "<" + color.getName() + ">";
-                }
-                tmp = "";
-            }
-        }
-        return Component.fromRaw(finalSerialized + tmp);
+        return replace(new Replacer(new String[]{from}, new String[]{to}), maintainColor);
+    }
+
+    /**
+     * Replaces every section in the current text component with the associated replacement, in a single pass.
+     *
+     * @param replacements the sections to replace associated with their replacements
+     * @return the text component
+     */
+    public @NotNull Component replace(final @NotNull Map<String, String> replacements) {
+        return replace(replacements, false);
+    }
+
+    /**
+     * Replaces every section in the current text component with the associated replacement, in a single pass.
+     * When more sections overlap, the first one to end is replaced.
+     *
+     * @param replacements  the sections to replace associated with their replacements
+     * @param maintainColor if true, colors preceding the replacements will be put next to them.
+     * @return the text component
+     */
+    public @NotNull Component replace(final @NotNull Map<String, String> replacements, final boolean maintainColor) {
+        return replace(new Replacer(replacements), maintainColor);
+    }
+
+    private @NotNull Component replace(final @NotNull Replacer replacer, final boolean maintainColor) {
+        final Component replaced = Component.parse(replacer.replace(serialize(), maintainColor));
+        return frozen ? replaced.freeze() : replaced;
     }
 
     /**
@@ -716,8 +767,22 @@ public class Component {
      * @return true only if one or more components match the criteria
      */
     public boolean contains(final @NotNull Component component) {
-        if (strictlyContains(component)) return true;
-        else return next != null && next.contains(component);
+        for (Component current = this; current != null; current = current.next) {
+            final Boolean contained = current.containsSingle(component);
+            if (contained != null) return contained;
+        }
+        return false;
+    }
+
+    /**
+     * Checks if the given component is contained in this component, without checking the next ones.
+     *
+     * @param component the text component
+     * @return true if it is contained, false if neither this component nor the next ones can contain it,
+     * null if the next components should be checked
+     */
+    protected @Nullable Boolean containsSingle(final @NotNull Component component) {
+        return strictlyContains(component) ? true : null;
     }
 
     /**
@@ -768,12 +833,10 @@ public class Component {
     boolean compareOptions(@NotNull Component component) {
         if (color != null && !color.equals(component.color)) return false;
         if (font != null && !font.equals(component.font)) return false;
-        if (obfuscated != null && !obfuscated.equals(component.obfuscated)) return false;
-        if (bold != null && !bold.equals(component.bold)) return false;
-        if (strikethrough != null && !strikethrough.equals(component.strikethrough)) return false;
-        if (underlined != null && !underlined.equals(component.underlined)) return false;
-        if (italic != null && !italic.equals(component.italic)) return false;
-        return reset == null || reset.equals(component.reset);
+        // Only the styles set in this component have to match
+        final int set = styleFlags & STYLES_SET_MASK;
+        final int mask = set | set << 1;
+        return (styleFlags & mask) == (component.styleFlags & mask);
     }
 
     /**
@@ -782,7 +845,7 @@ public class Component {
      * @return the converted component
      */
     public @NotNull String toLegacy() {
-        return new SectionSignConverter().convertComponent(this);
+        return new SectionSignConverter().convertTo(this, new StringBuilder()).toString();
     }
 
     /**
@@ -791,24 +854,56 @@ public class Component {
      * @return the string
      */
     public @NotNull String serialize() {
-        String output = serializeSingle();
-
-        if (next != null) {
-            final String color = this.color == null ? null : String.format("<%s>", this.color.getName());
-
-            String tmp = next.serialize();
-
-            if (color != null && tmp.startsWith(color)) tmp = tmp.substring(color.length());
-            for (Style s : getStyles()) {
-                String style = String.format("<%s>", s.getName());
-                if (!getStyle(s)) style = "<!" + style.substring(1);
-                if (tmp.startsWith(style)) tmp = tmp.substring(style.length());
+        final List<Component> components = new ArrayList<>();
+        for (Component component = this; component != null; component = component.next) components.add(component);
+
+        // Every component removes the color and styles it already applies from the beginning of the following ones,
+        // so the output is built backwards, starting from the last component.
+        char[] buffer = new char[64];
+        int start = buffer.length;
+        for (int i = components.size() - 1; i >= 0; i--) {
+            final Component component = components.get(i);
+
+            if (start < buffer.length) {
+                if (component.color != null)
+                    start = skipPrefix(buffer, start, String.format("<%s>", component.color.getName()));
+                for (Style s : component.getStyles()) {
+                    String style = String.format("<%s>", s.getName());
+                    if (!component.getStyle(s)) style = "<!" + style.substring(1);
+                    start = skipPrefix(buffer, start, style);
+                }
             }
 
-            output += tmp;
+            final String single = component.serializeSingle();
+            final int length = single.length();
+            if (length > start) {
+                final int size = buffer.length - start;
+                final char[] newBuffer = new char[Math.max(buffer.length * 2, size + length)];
+                System.arraycopy(buffer, start, newBuffer, newBuffer.length - size, size);
+                start = newBuffer.length - size;
+                buffer = newBuffer;
+            }
+            start -= length;
+            single.getChars(0, length, buffer, start);
         }
 
-        return output;
+        return new String(buffer, start, buffer.length - start);
+    }
+
+    /**
+     * Checks if the content of the buffer (from the given start) begins with the given prefix.
+     *
+     * @param buffer the buffer
+     * @param start  the start of the content
+     * @param prefix the prefix
+     * @return the start of the content after the prefix, if present, or the given start
+     */
+    private static int skipPrefix(final char @NotNull [] buffer, final int start, final @NotNull String prefix) {
+        final int length = prefix.length();
+        if (buffer.length - start < length) return start;
+        for (int i = 0; i < length; i++)
+            if (buffer[start + i] != prefix.charAt(i)) return start;
+        return start + length;
     }
 
     /**
@@ -840,42 +935,201 @@ public class Component {
      * @return true if every parameter is null
      */
     public boolean isEmpty() {
-        for (Object o : getOptions()) if (o != null) return false;
+        if (styleFlags != 0) return false;
+        final OptionFields options = OptionFields.of(getClass());
+        for (int i = 0; i < options.size(); i++) if (options.get(i, this) != null) return false;
         return text == null || text.isEmpty();
     }
 
     /**
      * Clones the current component into another identical one.
+     * The copy is structural: every next component (and every child, for containers) is cloned as well,
+     * without serializing or parsing the raw text again.
      *
      * @param <T> the type of the component
      * @return the clone
      */
     @SuppressWarnings("unchecked")
     public <T extends Component> @NotNull T copy() {
-        final String serialize = this.serialize();
-        Class<T> clazz = (Class<T>) this.getClass();
+        final Component copy = clone();
+        Component current = copy;
+        while (current.next != null) {
+            current.next = current.next.clone();
+            current = current.next;
+        }
+        return (T) copy;
+    }
+
+    /**
+     * Creates a copy of this single component.
+     * The next component is shared with the original one: use {@link #copy()} to clone the whole chain.
+     * Implementations holding mutable objects should override this method to duplicate them.
+     *
+     * @return the clone
+     */
+    @Override
+    protected @NotNull Component clone() {
+        final Component clone = cloneSingle();
+        clone.frozen = false;
+        return clone;
+    }
+
+    /**
+     * Creates a shallow copy of this single component, sharing every field with the original one.
+     *
+     * @return the clone
+     */
+    private @NotNull Component cloneSingle() {
         try {
-            Constructor<T> constructor = clazz.getConstructor(String.class);
-            constructor.setAccessible(true);
-            return constructor.newInstance(serialize);
-        } catch (NoSuchMethodException | IllegalAccessException | InstantiationException |
-                 InvocationTargetException e) {
-            try {
-                Constructor<T> constructor = clazz.getConstructor();
-                constructor.setAccessible(true);
-                T t = constructor.newInstance();
-                t.setContent(serialize);
-                return t;
-            } catch (NoSuchMethodException | IllegalAccessException | InstantiationException |
-                     InvocationTargetException ex) {
-                throw new RuntimeException(e);
-            }
+            final Component clone = (Component) super.clone();
+            clone.tail = null;
+            clone.tailOwner = null;
+            return clone;
+        } catch (CloneNotSupportedException e) {
+            throw new RuntimeException(e);
         }
     }
 
+    /**
+     * Freezes the current component, the next ones and their children.
+     * A frozen component cannot be modified anymore: every setter will throw an {@link UnsupportedOperationException}.
+     * This allows sharing a single component between multiple threads without copying it.
+     * <br>
+     * Modified versions of a frozen component can be obtained using the <b>with</b> methods
+     * (like {@link #withText(String)}), which share the unchanged components with the original one,
+     * or using {@link #thaw()}.
+     *
+     * @param <T> the type of the component
+     * @return this component
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Component> @NotNull T freeze() {
+        Component current = this;
+        while (current != null && !current.frozen) {
+            current.freezeSingle();
+            current = current.next;
+        }
+        return (T) this;
+    }
+
+    /**
+     * Freezes this single component.
+     * Implementations holding other components should override this method to freeze them too.
+     */
+    protected void freezeSingle() {
+        this.frozen = true;
+    }
+
+    /**
+     * Checks if the current component has been frozen using {@link #freeze()}.
+     *
+     * @return true if it is frozen
+     */
+    public boolean isFrozen() {
+        return this.frozen;
+    }
+
+    /**
+     * Gets a modifiable version of the current component.
+     * If the component is frozen, a modifiable copy is returned (see {@link #copy()}),
+     * otherwise the component itself.
+     *
+     * @param <T> the type of the component
+     * @return the modifiable component
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Component> @NotNull T thaw() {
+        return frozen ? copy() : (T) this;
+    }
+
+    /**
+     * Checks that the current component is not frozen.
+     *
+     * @throws UnsupportedOperationException if the component is frozen
+     */
+    protected void checkNotFrozen() {
+        if (frozen)
+            throw new UnsupportedOperationException("Cannot modify a frozen component. Use thaw() to get a modifiable copy");
+    }
+
+    /**
+     * Gets a frozen copy of this component with the given text.
+     * The next components and the children are shared with the current component.
+     *
+     * @param text the text
+     * @return the new component
+     */
+    public @NotNull Component withText(final @Nullable String text) {
+        return derive(c -> c.setText(text));
+    }
+
+    /**
+     * Gets a frozen copy of this component with the given color.
+     * The color is not propagated, so the next components and the children are shared with the current component.
+     *
+     * @param color the color
+     * @return the new component
+     */
+    public @NotNull Component withColor(final @Nullable Color color) {
+        return derive(c -> c.setColor(color, false));
+    }
+
+    /**
+     * Gets a frozen copy of this component with the given font.
+     * The font is not propagated, so the next components and the children are shared with the current component.
+     *
+     * @param font the font
+     * @return the new component
+     */
+    public @NotNull Component withFont(final @Nullable Font font) {
+        return derive(c -> c.setFont(font, false));
+    }
+
+    /**
+     * Gets a frozen copy of this component with the given style.
+     * The style is not propagated, so the next components and the children are shared with the current component.
+     *
+     * @param style the style
+     * @param value the value
+     * @return the new component
+     */
+    public @NotNull Component withStyle(final @Nullable Style style, final @Nullable Boolean value) {
+        return derive(c -> c.setStyle(style, value, false));
+    }
+
+    /**
+     * Gets a frozen copy of this component with the given next component (see {@link #setNext(Component)}).
+     * The children are shared with the current component.
+     *
+     * @param next the next
+     * @return the new component
+     */
+    public @NotNull Component withNext(final @Nullable Component next) {
+        return derive(c -> {
+            c.next = null;
+            c.setNext(next == null ? null : next.copy());
+        });
+    }
+
+    /**
+     * Creates a shallow copy of the frozen version of this component,
+     * applies the given modification to it and freezes it.
+     * If this component is not frozen, a frozen copy of it is used.
+     *
+     * @param modification the modification
+     * @return the new component
+     */
+    private @NotNull Component derive(final @NotNull Consumer<Component> modification) {
+        final Component source = frozen ? this : copy().freeze();
+        final Component derived = source.cloneSingle();
+        derived.frozen = false;
+        modification.accept(derived);
+        return derived.freeze();
+    }
+
     /**
      * Check if two text components are similar.
-     * "Similar" means if all their options (from {@link #getOptionFields()}) except {@link #text} are equal.
+     * "Similar" means if all their options (from {@link OptionFields}) except {@link #text} are equal.
      *
      * @param component the text component
      * @return true if they are similar
@@ -883,16 +1137,10 @@ public class Component {
     public boolean isSimilar(@Nullable Component component) {
         if (component == null) return false;
         if (!this.getClass().equals(component.getClass())) return false;
-        for (Field option : getOptionFields()) {
-            if (option.getName().equals("text")) continue;
-            try {
-                Object opt1 = option.get(this);
-                Object opt2 = option.get(component);
-                if (!Objects.equals(opt1, opt2)) return false;
-            } catch (Exception e) {
-                throw new RuntimeException(e);
-            }
-        }
+        if (styleFlags != component.styleFlags) return false;
+        final OptionFields options = OptionFields.of(getClass());
+        for (int i = 0; i < options.size(); i++)
+            if (!Objects.equals(options.get(i, this), options.get(i, component))) return false;
         return true;
     }
 
@@ -917,24 +1165,59 @@ public class Component {
     public @NotNull String toString() {
         String output = "{";
         output += "next: " + next + ", ";
-        for (Field field : getOptionFields())
-            try {
-                Object object = field.get(this);
-                output += String.format("%s: %s, ", field.getName(), object);
-            } catch (IllegalAccessException e) {
-                throw new RuntimeException(e);
-            }
+        final OptionFields options = OptionFields.of(getClass());
+        for (int i = 0; i < options.size(); i++)
+            output += String.format("%s: %s, ", options.getName(i), options.get(i, this));
+        for (Style style : STYLES)
+            output += String.format("%s: %s, ", style.name().toLowerCase(), getStyle(style));
         output += "text: " + text;
         return output + "}";
     }
 
+    /**
+     * Checks if the given character is matched by the regular expression <i>\s</i>.
+     *
+     * @param c the character
+     * @return true if it is a white space
+     */
+    private static boolean isWhiteSpace(final char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    /**
+     * Checks if the given string, starting from the given index, is empty once trimmed.
+     *
+     * @param string the string
+     * @param from   the index to start from
+     * @return true if only blank characters are found
+     */
+    private static boolean isBlank(final @NotNull String string, final int from) {
+        for (int i = from; i < string.length(); i++)
+            if (string.charAt(i) > ' ') return false;
+        return true;
+    }
+
     /**
      * Converts a raw text to a component.
+     * If a {@link ComponentCache} has been set with {@link #setCache(ComponentCache)},
+     * the parsed component is taken from it.
      *
      * @param rawText the raw text
      * @return the text component
      */
     public static Component fromRaw(@Nullable String rawText) {
+        final ComponentCache cache = Component.cache;
+        if (cache == null || rawText == null || rawText.isEmpty()) return parse(rawText);
+        else return cache.get(rawText, Component::parse);
+    }
+
+    /**
+     * Converts a raw text to a component, without using the {@link ComponentCache}.
+     *
+     * @param rawText the raw text
+     * @return the text component
+     */
+    static Component parse(@Nullable String rawText) {
         if (rawText == null) return null;
         if (rawText.isEmpty()) return new Component();
 
@@ -943,6 +1226,55 @@ public class Component {
         return component;
     }
 
+    /**
+     * Converts a vanilla Minecraft chat JSON to a component.
+     * The JSON is read as a stream, without building a tree of its elements.
+     *
+     * @param json the JSON
+     * @return the text component
+     */
+    public static Component fromJson(@Nullable String json) {
+        if (json == null) return null;
+        try {
+            final JsonReader reader = new JsonReader(new StringReader(json));
+            final Component component = fromJson(reader);
+            if (reader.peek() != JsonToken.END_DOCUMENT)
+                throw new InvalidComponentException("Invalid JSON component: unexpected content at " + reader.getPath());
+            return component;
+        } catch (IOException | IllegalStateException | NumberFormatException e) {
+            throw new InvalidComponentException("Invalid JSON component: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Reads the next value of the given reader as a vanilla Minecraft chat JSON and converts it to a component.
+     *
+     * @param reader the reader
+     * @return the text component (null if the value is null)
+     * @throws IOException if the reader fails
+     */
+    public static @Nullable Component fromJson(@NotNull JsonReader reader) throws IOException {
+        return new JsonComponentReader(reader).read();
+    }
+
+    /**
+     * Sets the cache used by {@link #fromRaw(String)}.
+     *
+     * @param cache the cache (null to disable it)
+     */
+    public static void setCache(final @Nullable ComponentCache cache) {
+        Component.cache = cache;
+    }
+
+    /**
+     * Gets the cache used by {@link #fromRaw(String)}.
+     *
+     * @return the cache (null if disabled)
+     */
+    public static @Nullable ComponentCache getCache() {
+        return Component.cache;
+    }
+
     /**
      * Converts a component to its raw text.
      *
@@ -0,0 +1,166 @@
+package it.fulminazzo.amplitude.component;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * A bounded cache of parsed components, keyed by their raw text.
+ * When the maximum size is reached, the least recently used entry is evicted.
+ * <p>
+ * Since {@link Component} is mutable, cached components are never returned directly:
+ * every lookup returns a structural copy (see {@link Component#copy()}),
+ * so that callers cannot corrupt the cached entries.
+ * <p>
+ * The cache is <b>opt-in</b>: it is used by {@link Component#fromRaw(String)} only after
+ * being installed with {@link Component#setCache(ComponentCache)}.
+ * <p>
+ * Example:
+ * <pre>{@code
+ * Component.setCache(new ComponentCache(1024));
+ * Component message = Component.fromRaw("<red>Hello world"); // parsed
+ * Component other = Component.fromRaw("<red>Hello world");   // copied from the cache
+ * }</pre>
+ */
+public final class ComponentCache {
+    public static final int DEFAULT_MAXIMUM_SIZE = 512;
+
+    private final int maximumSize;
+    private final @NotNull Map<String, Component> components;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Instantiates a new Component cache with {@link #DEFAULT_MAXIMUM_SIZE} as maximum size.
+     */
+    public ComponentCache() {
+        this(DEFAULT_MAXIMUM_SIZE);
+    }
+
+    /**
+     * Instantiates a new Component cache.
+     *
+     * @param maximumSize the maximum number of cached components
+     */
+    public ComponentCache(final int maximumSize) {
+        if (maximumSize < 1)
+            throw new IllegalArgumentException(String.format("Invalid maximum size %s: at least 1 is required", maximumSize));
+        this.maximumSize = maximumSize;
+        this.components = new LinkedHashMap<String, Component>(16, 0.75f, true) {
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, Component> eldest) {
+                if (size() <= ComponentCache.this.maximumSize) return false;
+                ComponentCache.this.evictions++;
+                return true;
+            }
+
+        };
+    }
+
+    /**
+     * Gets a copy of the component associated with the given raw text.
+     * If it is not present, it is parsed using the given function and then stored.
+     *
+     * @param rawText the raw text
+     * @param parser  the function used to parse the raw text
+     * @return a copy of the cached component
+     */
+    public @Nullable Component get(final @NotNull String rawText,
+                                   final @NotNull Function<String, Component> parser) {
+        Component component;
+        synchronized (this) {
+            component = this.components.get(rawText);
+            if (component != null) this.hits++;
+            else this.misses++;
+        }
+
+        if (component == null) {
+            // Parsing happens outside the lock, so that other threads are not blocked
+            component = parser.apply(rawText);
+            if (component == null) return null;
+            synchronized (this) {
+                this.components.put(rawText, component);
+            }
+        }
+
+        return component.copy();
+    }
+
+    /**
+     * Removes the component associated with the given raw text.
+     *
+     * @param rawText the raw text
+     */
+    public synchronized void invalidate(final @NotNull String rawText) {
+        this.components.remove(rawText);
+    }
+
+    /**
+     * Removes every cached component and resets the statistics.
+     */
+    public synchronized void clear() {
+        this.components.clear();
+        this.hits = 0;
+        this.misses = 0;
+        this.evictions = 0;
+    }
+
+    /**
+     * Gets the number of cached components.
+     *
+     * @return the size
+     */
+    public synchronized int size() {
+        return this.components.size();
+    }
+
+    /**
+     * Gets the maximum number of cached components.
+     *
+     * @return the maximum size
+     */
+    public int getMaximumSize() {
+        return this.maximumSize;
+    }
+
+    /**
+     * Gets the number of lookups that found a cached component.
+     *
+     * @return the hits
+     */
+    public synchronized long getHits() {
+        return this.hits;
+    }
+
+    /**
+     * Gets the number of lookups that required parsing.
+     *
+     * @return the misses
+     */
+    public synchronized long getMisses() {
+        return this.misses;
+    }
+
+    /**
+     * Gets the number of components removed to respect the maximum size.
+     *
+     * @return the evictions
+     */
+    public synchronized long getEvictions() {
+        return this.evictions;
+    }
+
+    @Override
+    public synchronized @NotNull String toString() {
+        return String.format("%s{size: %s, maximumSize: %s, hits: %s, misses: %s, evictions: %s}",
+                getClass().getSimpleName(), this.components.size(), this.maximumSize,
+                this.hits, this.misses, this.evictions);
+    }
+
+}
@@ -0,0 +1,475 @@
+package it.fulminazzo.amplitude.component;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * A compact binary encoding of components, meant to send them between servers (for example, using plugin messages)
+ * without having the receiver parse their raw text again.
+ * <p>
+ * The encoding starts with its version ({@link #VERSION}), followed by a table of all the strings used
+ * (texts, tag names, option keys and values), each one written only once.
+ * Then, every chain of components is written as its length followed by its components.
+ * A component is written as:
+ * <ul>
+ *     <li>a byte with the fields that are set;</li>
+ *     <li>the tag name and the options, if it is an {@link OptionComponent};</li>
+ *     <li>the text, as an index of the string table;</li>
+ *     <li>the styles, packed in the same bits as {@link Component};</li>
+ *     <li>the color, as the index of a default {@link Color} or as RGB;</li>
+ *     <li>the font, as the index of the {@link Font};</li>
+ *     <li>the child and the arguments, as chains of components.</li>
+ * </ul>
+ * Every length and index is written as a variable-length integer (7 bits per byte).
+ * <p>
+ * Decoding an {@link OptionComponent} requires its class to be known, as in {@link Component#fromRaw(String)}:
+ * custom components must be loaded before being decoded.
+ * <p>
+ * Example:
+ * <pre>{@code
+ * byte[] data = ComponentCodec.encode(Component.fromRaw("<red>Hello <bold>world"));
+ * Component component = ComponentCodec.decode(data);
+ * }</pre>
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ComponentCodec {
+    public static final int VERSION = 1;
+
+    private static final int TEXT = 1;
+    private static final int STYLES = 1 << 1;
+    private static final int COLOR = 1 << 2;
+    private static final int FONT = 1 << 3;
+    private static final int OPTIONS = 1 << 4;
+    private static final int CHILD = 1 << 5;
+    private static final int ARGUMENTS = 1 << 6;
+
+    private static final Color[] COLORS = Color.values();
+    private static final int RGB_COLOR = COLORS.length;
+    private static final int CODE_COLOR = RGB_COLOR + 1;
+    private static final Font[] FONTS = Font.values();
+    // Prevents malformed data from overflowing the stack
+    private static final int MAXIMUM_DEPTH = 512;
+    // Prevent malformed data from forcing huge allocations: lists and byte arrays grow while being read
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int CHUNK_SIZE = 8192;
+
+    /**
+     * Encodes the given component (and the next ones) in a new byte array.
+     *
+     * @param component the component
+     * @return the bytes
+     */
+    public static byte @NotNull [] encode(final @Nullable Component component) {
+        return new Encoder(component).toByteArray();
+    }
+
+    /**
+     * Encodes the given component (and the next ones) in the given buffer.
+     *
+     * @param component the component
+     * @param buffer    the buffer
+     * @throws java.nio.BufferOverflowException if the buffer has not enough space
+     */
+    public static void encode(final @Nullable Component component, final @NotNull ByteBuffer buffer) {
+        final Encoder encoder = new Encoder(component);
+        buffer.put(encoder.header.bytes, 0, encoder.header.size);
+        buffer.put(encoder.body.bytes, 0, encoder.body.size);
+    }
+
+    /**
+     * Encodes the given component (and the next ones) in the given output.
+     *
+     * @param component the component
+     * @param output    the output
+     * @throws IOException if the output fails
+     */
+    public static void write(final @Nullable Component component, final @NotNull DataOutput output) throws IOException {
+        final Encoder encoder = new Encoder(component);
+        output.write(encoder.header.bytes, 0, encoder.header.size);
+        output.write(encoder.body.bytes, 0, encoder.body.size);
+    }
+
+    /**
+     * Decodes a component from the given bytes.
+     *
+     * @param bytes the bytes
+     * @return the component (null if an empty chain was encoded)
+     */
+    public static @Nullable Component decode(final byte @NotNull [] bytes) {
+        return decode(ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * Decodes a component from the given buffer, starting from its position.
+     *
+     * @param buffer the buffer
+     * @return the component (null if an empty chain was encoded)
+     */
+    public static @Nullable Component decode(final @NotNull ByteBuffer buffer) {
+        try {
+            return new BufferDecoder(buffer).decode();
+        } catch (IOException e) {
+            throw new InvalidComponentException("Invalid encoded component: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Decodes a component from the given input.
+     *
+     * @param input the input
+     * @return the component (null if an empty chain was encoded)
+     * @throws IOException if the input fails
+     */
+    public static @Nullable Component read(final @NotNull DataInput input) throws IOException {
+        return new InputDecoder(input).decode();
+    }
+
+    /**
+     * Writes the components and collects their strings in a table.
+     */
+    private static final class Encoder {
+        private final @NotNull Map<String, Integer> indexes = new HashMap<>();
+        private final @NotNull List<String> strings = new ArrayList<>();
+        private final @NotNull Bytes header = new Bytes();
+        private final @NotNull Bytes body = new Bytes();
+
+        Encoder(final @Nullable Component component) {
+            writeChain(component);
+            this.header.writeByte(VERSION);
+            this.header.writeVarInt(this.strings.size());
+            for (String string : this.strings) {
+                final byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+                this.header.writeVarInt(bytes.length);
+                this.header.write(bytes);
+            }
+        }
+
+        byte @NotNull [] toByteArray() {
+            final byte[] bytes = Arrays.copyOf(this.header.bytes, this.header.size + this.body.size);
+            System.arraycopy(this.body.bytes, 0, bytes, this.header.size, this.body.size);
+            return bytes;
+        }
+
+        private void writeChain(final @Nullable Component component) {
+            int length = 0;
+            for (Component c = component; c != null; c = c.next) length++;
+            this.body.writeVarInt(length);
+            for (Component c = component; c != null; c = c.next) writeSingle(c);
+        }
+
+        private void writeSingle(final @NotNull Component component) {
+            final OptionComponent<?> optionComponent = component instanceof OptionComponent ? (OptionComponent<?>) component : null;
+            final Component child = component instanceof ContainerComponent ? ((ContainerComponent<?>) component).getChild() : null;
+            final List<Component> arguments = component instanceof TranslatableComponent ?
+                    ((TranslatableComponent) component).getArguments() : null;
+
+            int fields = 0;
+            if (component.text != null) fields |= TEXT;
+            if (component.styleFlags != 0) fields |= STYLES;
+            if (component.color != null) fields |= COLOR;
+            if (component.font != null) fields |= FONT;
+            if (optionComponent != null) fields |= OPTIONS;
+            if (child != null) fields |= CHILD;
+            if (arguments != null) fields |= ARGUMENTS;
+            this.body.writeByte(fields);
+
+            if (optionComponent != null) {
+                writeString(optionComponent.tagName);
+                this.body.writeVarInt(optionComponent.tagOptions.size());
+                for (Map.Entry<String, String> entry : optionComponent.tagOptions.entrySet()) {
+                    writeString(entry.getKey());
+                    writeNullableString(entry.getValue());
+                }
+            }
+            if (component.text != null) writeString(component.text);
+            if (component.styleFlags != 0) this.body.writeVarInt(component.styleFlags);
+            if (component.color != null) writeColor(component.color);
+            if (component.font != null) this.body.writeByte(component.font.ordinal());
+            if (child != null) writeChain(child);
+            if (arguments != null) {
+                this.body.writeVarInt(arguments.size());
+                for (Component argument : arguments) writeChain(argument);
+            }
+        }
+
+        private void writeColor(final @NotNull Color color) {
+            if (color.isCustom()) {
+                final String code = color.getCode();
+                if (code.length() == 7 && code.charAt(0) == '#') try {
+                    final int rgb = Integer.parseInt(code.substring(1), 16);
+                    this.body.writeByte(RGB_COLOR);
+                    this.body.writeByte(rgb >> 16);
+                    this.body.writeByte(rgb >> 8);
+                    this.body.writeByte(rgb);
+                    return;
+                } catch (NumberFormatException ignored) {
+                    // Not a HEX color, written as it is
+                }
+                this.body.writeByte(CODE_COLOR);
+                writeString(code);
+            } else for (int i = 0; i < COLORS.length; i++)
+                if (COLORS[i].getIdentifierChar() == color.getIdentifierChar()) {
+                    this.body.writeByte(i);
+                    return;
+                }
+        }
+
+        private void writeNullableString(final @Nullable String string) {
+            if (string == null) this.body.writeVarInt(0);
+            else this.body.writeVarInt(indexOf(string) + 1);
+        }
+
+        private void writeString(final @NotNull String string) {
+            this.body.writeVarInt(indexOf(string));
+        }
+
+        private int indexOf(final @NotNull String string) {
+            Integer index = this.indexes.get(string);
+            if (index == null) {
+                index = this.strings.size();
+                this.indexes.put(string, index);
+                this.strings.add(string);
+            }
+            return index;
+        }
+
+    }
+
+    /**
+     * A growing array of bytes.
+     */
+    private static final class Bytes {
+        private byte @NotNull [] bytes = new byte[64];
+        private int size;
+
+        void writeByte(final int value) {
+            if (this.size == this.bytes.length) this.bytes = Arrays.copyOf(this.bytes, this.size << 1);
+            this.bytes[this.size++] = (byte) value;
+        }
+
+        void writeVarInt(int value) {
+            while ((value & ~0x7F) != 0) {
+                writeByte(value & 0x7F | 0x80);
+                value >>>= 7;
+            }
+            writeByte(value);
+        }
+
+        void write(final byte @NotNull [] bytes) {
+            if (this.size + bytes.length > this.bytes.length)
+                this.bytes = Arrays.copyOf(this.bytes, Math.max(this.size << 1, this.size + bytes.length));
+            System.arraycopy(bytes, 0, this.bytes, this.size, bytes.length);
+            this.size += bytes.length;
+        }
+
+    }
+
+    /**
+     * Reads the string table and the components.
+     */
+    private static abstract class Decoder {
+        private List<String> strings;
+
+        @Nullable Component decode() throws IOException {
+            final int version = readByte();
+            if (version != VERSION)
+                throw new InvalidComponentException(String.format("Unsupported version %s of encoded component: expected %s",
+                        version, VERSION));
+            final int length = readLength();
+            this.strings = new ArrayList<>(Math.min(length, INITIAL_CAPACITY));
+            for (int i = 0; i < length; i++)
+                this.strings.add(new String(readBytes(readLength()), StandardCharsets.UTF_8));
+            return readChain(0);
+        }
+
+        private @Nullable Component readChain(final int depth) throws IOException {
+            if (depth > MAXIMUM_DEPTH)
+                throw new InvalidComponentException("Encoded component is nested more than " + MAXIMUM_DEPTH + " times");
+            final int length = readLength();
+            Component first = null;
+            Component last = null;
+            for (int i = 0; i < length; i++) {
+                final Component component = readSingle(depth);
+                if (first == null) first = component;
+                else last.next = component;
+                last = component;
+            }
+            return first;
+        }
+
+        private @NotNull Component readSingle(final int depth) throws IOException {
+            final int fields = readByte();
+            final Component component;
+            if ((fields & OPTIONS) != 0) {
+                final String tagName = readString();
+                final Function<String, Component> constructor = Component.CONTAINER_COMPONENTS.get(tagName);
+                if (constructor == null)
+                    throw new InvalidComponentException(String.format("Unknown component <%s>: its class should be loaded before decoding it",
+                            tagName));
+                component = constructor.apply(null);
+                final OptionComponent<?> optionComponent = (OptionComponent<?>) component;
+                final int options = readLength();
+                for (int i = 0; i < options; i++) {
+                    final String key = readString();
+                    optionComponent.tagOptions.put(key, readNullableString());
+                }
+                optionComponent.checkOptions();
+            } else component = new Component();
+
+            if ((fields & TEXT) != 0) component.text = readString();
+            if ((fields & STYLES) != 0) component.styleFlags = readVarInt();
+            if ((fields & COLOR) != 0) component.color = readColor();
+            if ((fields & FONT) != 0) {
+                final int font = readByte();
+                if (font >= FONTS.length) throw new InvalidComponentException("Invalid encoded font: " + font);
+                component.font = FONTS[font];
+            }
+            if ((fields & CHILD) != 0) container(component).child = readChain(depth + 1);
+            if ((fields & ARGUMENTS) != 0) {
+                if (!(component instanceof TranslatableComponent))
+                    throw new InvalidComponentException(component.getClass().getSimpleName() + " cannot have arguments");
+                final int length = readLength();
+                final List<Component> arguments = new ArrayList<>(Math.min(length, INITIAL_CAPACITY));
+                for (int i = 0; i < length; i++) {
+                    final Component argument = readChain(depth + 1);
+                    arguments.add(argument == null ? new Component() : argument);
+                }
+                ((TranslatableComponent) component).setArguments(arguments);
+            }
+            return component;
+        }
+
+        private static @NotNull ContainerComponent<?> container(final @NotNull Component component) {
+            if (component instanceof ContainerComponent) return (ContainerComponent<?>) component;
+            throw new InvalidComponentException(component.getClass().getSimpleName() + " cannot have a child");
+        }
+
+        private @NotNull Color readColor() throws IOException {
+            final int color = readByte();
+            if (color < COLORS.length) return COLORS[color];
+            else if (color == RGB_COLOR) {
+                final int rgb = readByte() << 16 | readByte() << 8 | readByte();
+                return new Color(String.format("#%06X", rgb));
+            } else if (color == CODE_COLOR) return new Color(readString());
+            else throw new InvalidComponentException("Invalid encoded color: " + color);
+        }
+
+        private @Nullable String readNullableString() throws IOException {
+            final int index = readLength();
+            return index == 0 ? null : string(index - 1);
+        }
+
+        private @NotNull String readString() throws IOException {
+            return string(readLength());
+        }
+
+        private @NotNull String string(final int index) {
+            if (index >= this.strings.size()) throw new InvalidComponentException("Invalid encoded string: " + index);
+            return this.strings.get(index);
+        }
+
+        private int readLength() throws IOException {
+            final int length = readVarInt();
+            if (length < 0) throw new InvalidComponentException("Invalid encoded length: " + length);
+            return length;
+        }
+
+        private int readVarInt() throws IOException {
+            int value = 0;
+            for (int shift = 0; shift < 35; shift += 7) {
+                final int b = readByte();
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) return value;
+            }
+            throw new InvalidComponentException("Invalid encoded integer: too many bytes");
+        }
+
+        /**
+         * Reads an unsigned byte.
+         *
+         * @return the byte
+         * @throws IOException if the input fails
+         */
+        abstract int readByte() throws IOException;
+
+        /**
+         * Reads the given number of bytes.
+         * The space for them should not be allocated before knowing that they can be read.
+         *
+         * @param length the number of bytes
+         * @return the bytes
+         * @throws IOException if the input fails
+         */
+        abstract byte @NotNull [] readBytes(int length) throws IOException;
+
+    }
+
+    private static final class BufferDecoder extends Decoder {
+        private final @NotNull ByteBuffer buffer;
+
+        BufferDecoder(final @NotNull ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        int readByte() throws IOException {
+            if (!this.buffer.hasRemaining()) throw new EOFException("unexpected end of data");
+            return this.buffer.get() & 0xFF;
+        }
+
+        @Override
+        byte @NotNull [] readBytes(final int length) throws IOException {
+            if (this.buffer.remaining() < length) throw new EOFException("unexpected end of data");
+            final byte[] bytes = new byte[length];
+            this.buffer.get(bytes);
+            return bytes;
+        }
+
+    }
+
+    private static final class InputDecoder extends Decoder {
+        private final @NotNull DataInput input;
+
+        InputDecoder(final @NotNull DataInput input) {
+            this.input = input;
+        }
+
+        @Override
+        int readByte() throws IOException {
+            return this.input.readUnsignedByte();
+        }
+
+        /**
+         * Reads the given number of bytes in chunks, doubling the array only after filling it,
+         * since the remaining bytes of a {@link DataInput} are not known.
+         *
+         * @param length the number of bytes
+         * @return the bytes
+         * @throws IOException if the input fails
+         */
+        @Override
+        byte @NotNull [] readBytes(final int length) throws IOException {
+            byte[] bytes = new byte[Math.min(length, CHUNK_SIZE)];
+            this.input.readFully(bytes);
+            while (bytes.length < length) {
+                final int read = bytes.length;
+                bytes = Arrays.copyOf(bytes, (int) Math.min(length, 2L * read));
+                this.input.readFully(bytes, read, bytes.length - read);
+            }
+            return bytes;
+        }
+
+    }
+
+}
@@ -0,0 +1,257 @@
+package it.fulminazzo.amplitude.component;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * A raw message compiled once, that can be rendered many times with different values for its placeholders.
+ * <p>
+ * A placeholder is a name between curly brackets (for example, <i>{player}</i>)
+ * and can appear both in the text and in the options of the tags.
+ * For example:
+ * <pre>{@code
+ * ComponentTemplate template = ComponentTemplate.compile(
+ *         "<gray>[<hover action=SHOW_TEXT text=\"Rank: {rank}\">{player}</hover>] <white>{message}");
+ * Component message = template.render("Alex", "Admin", "Hello world");
+ * }</pre>
+ * Rendering only copies the compiled component and fills the placeholders: nothing is parsed or serialized again.
+ * Values in the text are always inserted as plain text, while values in the options are inserted as they are.
+ * <p>
+ * Since options are validated while compiling, placeholders cannot be used for options
+ * that require a specific format (like the color of {@link HexComponent}).
+ */
+public final class ComponentTemplate {
+    private final @NotNull String rawText;
+    private final @NotNull Component component;
+    private final @NotNull List<String> placeholders;
+    private final Slot @NotNull [] slots;
+
+    private ComponentTemplate(final @NotNull String rawText) {
+        this.rawText = rawText;
+        this.component = Component.parse(rawText).freeze();
+
+        final List<String> placeholders = new ArrayList<>();
+        final List<Slot> slots = new ArrayList<>();
+        final List<Component> nodes = nodes(this.component);
+        for (int i = 0; i < nodes.size(); i++) {
+            final Component node = nodes.get(i);
+            if (!(node instanceof ContainerComponent)) {
+                Slot slot = Slot.parse(i, null, node.text, placeholders);
+                if (slot != null) slots.add(slot);
+            }
+            if (node instanceof OptionComponent)
+                for (Map.Entry<String, String> option : ((OptionComponent<?>) node).tagOptions.entrySet()) {
+                    Slot slot = Slot.parse(i, option.getKey(), option.getValue(), placeholders);
+                    if (slot != null) slots.add(slot);
+                }
+        }
+        this.placeholders = Collections.unmodifiableList(placeholders);
+        this.slots = slots.toArray(new Slot[0]);
+    }
+
+    /**
+     * Compiles the given raw text into a new template.
+     *
+     * @param rawText the raw text
+     * @return the template
+     */
+    public static @NotNull ComponentTemplate compile(final @NotNull String rawText) {
+        return new ComponentTemplate(rawText);
+    }
+
+    /**
+     * Gets the names of the placeholders, in order of first appearance.
+     *
+     * @return the placeholders
+     */
+    public @NotNull List<String> getPlaceholders() {
+        return this.placeholders;
+    }
+
+    /**
+     * Gets the raw text used to compile this template.
+     *
+     * @return the raw text
+     */
+    public @NotNull String getRawText() {
+        return this.rawText;
+    }
+
+    /**
+     * Renders the template using the given values, associated to the placeholders by name.
+     * Placeholders without a value are left as they are.
+     *
+     * @param arguments the values of the placeholders
+     * @return the rendered component
+     */
+    public @NotNull Component render(final @NotNull Map<String, ?> arguments) {
+        final String[] values = new String[this.placeholders.size()];
+        for (int i = 0; i < values.length; i++) {
+            final String placeholder = this.placeholders.get(i);
+            if (arguments.containsKey(placeholder)) values[i] = String.valueOf(arguments.get(placeholder));
+        }
+        return render(values);
+    }
+
+    /**
+     * Renders the template using the given values, associated to the placeholders
+     * in the same order as {@link #getPlaceholders()}.
+     * Placeholders without a value are left as they are.
+     *
+     * @param arguments the values of the placeholders
+     * @return the rendered component
+     */
+    public @NotNull Component render(final Object @NotNull ... arguments) {
+        final String[] values = new String[this.placeholders.size()];
+        for (int i = 0; i < values.length && i < arguments.length; i++)
+            values[i] = String.valueOf(arguments[i]);
+        return render(values);
+    }
+
+    private @NotNull Component render(final String @NotNull [] values) {
+        final Component rendered = this.component.copy();
+        if (this.slots.length == 0) return rendered;
+
+        final List<Component> nodes = nodes(rendered);
+        for (Slot slot : this.slots) {
+            final Component node = nodes.get(slot.node);
+            final String value = slot.render(values, this.placeholders);
+            if (slot.option == null) node.text = value;
+            else ((OptionComponent<?>) node).tagOptions.put(slot.option, value);
+        }
+        return rendered;
+    }
+
+    /**
+     * Gets all the components in the given one, including children and translatable arguments,
+     * in the same order as they appear in the raw text.
+     *
+     * @param component the component
+     * @return the components
+     */
+    private static @NotNull List<Component> nodes(final @NotNull Component component) {
+        final List<Component> nodes = new ArrayList<>();
+        final Deque<Component> stack = new ArrayDeque<>();
+        stack.push(component);
+        while (!stack.isEmpty()) {
+            final Component current = stack.pop();
+            nodes.add(current);
+            if (current.next != null) stack.push(current.next);
+            if (current instanceof ContainerComponent) {
+                final Component child = ((ContainerComponent<?>) current).getChild();
+                if (child != null) stack.push(child);
+            }
+            if (current instanceof TranslatableComponent) {
+                final List<Component> arguments = ((TranslatableComponent) current).getArguments();
+                if (arguments != null)
+                    for (int i = arguments.size() - 1; i >= 0; i--) stack.push(arguments.get(i));
+            }
+        }
+        return nodes;
+    }
+
+    @Override
+    public @NotNull String toString() {
+        return String.format("%s{rawText: %s, placeholders: %s}", getClass().getSimpleName(), this.rawText, this.placeholders);
+    }
+
+    /**
+     * A text (or option) of a component that contains at least one placeholder.
+     * It is stored as the literal parts of the text, separated by the indexes of the placeholders.
+     */
+    private static final class Slot {
+        private final int node;
+        private final @Nullable String option;
+        private final String @NotNull [] parts;
+        private final int @NotNull [] placeholders;
+
+        private Slot(final int node, final @Nullable String option,
+                     final String @NotNull [] parts, final int @NotNull [] placeholders) {
+            this.node = node;
+            this.option = option;
+            this.parts = parts;
+            this.placeholders = placeholders;
+        }
+
+        /**
+         * Renders the slot using the given values.
+         * If a value is not given, the placeholder is left as it is.
+         *
+         * @param values the values (null if not given)
+         * @param names  the names of the placeholders
+         * @return the rendered text
+         */
+        @NotNull String render(final String @NotNull [] values, final @NotNull List<String> names) {
+            final StringBuilder builder = new StringBuilder(this.parts[0]);
+            for (int i = 0; i < this.placeholders.length; i++) {
+                final int index = this.placeholders[i];
+                final String value = values[index];
+                if (value == null) builder.append('{').append(names.get(index)).append('}');
+                else builder.append(value);
+                builder.append(this.parts[i + 1]);
+            }
+            return builder.toString();
+        }
+
+        /**
+         * Finds all the placeholders in the given text.
+         * Every new placeholder is added to the given list.
+         *
+         * @param node         the index of the component
+         * @param option       the name of the option (null for the text)
+         * @param text         the text
+         * @param placeholders the placeholders found until now
+         * @return the slot, or null if the text does not contain any placeholder
+         */
+        static @Nullable Slot parse(final int node, final @Nullable String option,
+                                    final @Nullable String text, final @NotNull List<String> placeholders) {
+            if (text == null) return null;
+            final List<String> parts = new ArrayList<>();
+            final List<Integer> indexes = new ArrayList<>();
+            int last = 0;
+            int start = text.indexOf('{');
+            while (start != -1) {
+                final int end = findPlaceholderEnd(text, start);
+                if (end == -1) start = text.indexOf('{', start + 1);
+                else {
+                    final String name = text.substring(start + 1, end - 1);
+                    int index = placeholders.indexOf(name);
+                    if (index == -1) {
+                        index = placeholders.size();
+                        placeholders.add(name);
+                    }
+                    parts.add(text.substring(last, start));
+                    indexes.add(index);
+                    last = end;
+                    start = text.indexOf('{', end);
+                }
+            }
+            if (indexes.isEmpty()) return null;
+            parts.add(text.substring(last));
+            return new Slot(node, option, parts.toArray(new String[0]), indexes.stream().mapToInt(i -> i).toArray());
+        }
+
+        /**
+         * Finds the end of the placeholder starting at the given index.
+         * A valid placeholder name is composed of letters, digits, '_', '-' and '.'.
+         *
+         * @param text  the text
+         * @param start the index of '{'
+         * @return the end index (exclusive) of the placeholder, or -1 if it is not valid
+         */
+        private static int findPlaceholderEnd(final @NotNull String text, final int start) {
+            int i = start + 1;
+            while (i < text.length()) {
+                final char c = text.charAt(i);
+                if (c == '}') return i == start + 1 ? -1 : i + 1;
+                if (!Character.isLetterOrDigit(c) && c != '_' && c != '-' && c != '.') return -1;
+                i++;
+            }
+            return -1;
+        }
+
+    }
+
+}
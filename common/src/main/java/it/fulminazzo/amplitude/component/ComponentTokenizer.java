@@ -0,0 +1,237 @@
+package it.fulminazzo.amplitude.component;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A hand-written scanner that splits a raw string in <b>text</b> and <b>tag</b> tokens.
+ * Tokens are represented as index ranges over the original string, so no copy is made while scanning.
+ * <p>
+ * Tags are recognized using the same grammar as {@link Component#TAG_REGEX}:
+ * <ul>
+ *     <li>&#60;<i>content</i>&#62; where the content does not contain any '&#60;' or '&#62;';</li>
+ *     <li>&#60;"<i>content</i>"&#62; where the quoted content contains exactly one inner tag;</li>
+ *     <li>&#60;'<i>content</i>'&#62; where the quoted content contains exactly one inner tag.</li>
+ * </ul>
+ * <p>
+ * Example: "Hello &#60;red&#62;world" will be tokenized as:
+ * <ul>
+ *     <li>TEXT: Hello </li>
+ *     <li>TAG: &#60;red&#62;</li>
+ *     <li>TEXT: world</li>
+ * </ul>
+ */
+final class ComponentTokenizer {
+    private final @NotNull String raw;
+    private final int length;
+    private int position;
+
+    private TokenType type;
+    private int start;
+    private int end;
+
+    // Result of the last tag lookup, reused when scanning forward from the same region
+    private int lookupFrom = Integer.MAX_VALUE;
+    private int lookupStart = -1;
+    private int lookupEnd = -1;
+
+    /**
+     * Instantiates a new Component tokenizer.
+     *
+     * @param raw the raw string
+     */
+    public ComponentTokenizer(final @NotNull String raw) {
+        this(raw, 0);
+    }
+
+    /**
+     * Instantiates a new Component tokenizer.
+     *
+     * @param raw      the raw string
+     * @param position the position to start reading from
+     */
+    public ComponentTokenizer(final @NotNull String raw, final int position) {
+        this.raw = raw;
+        this.length = raw.length();
+        seek(position);
+    }
+
+    /**
+     * Reads the next token starting from the current position.
+     *
+     * @return true if a token was found, false if the end of the string was reached
+     */
+    public boolean next() {
+        this.type = null;
+        if (this.position >= this.length) return false;
+        final int tagStart = findNextTag(this.position);
+        if (tagStart == this.position) {
+            this.type = TokenType.TAG;
+            this.start = tagStart;
+            this.end = this.lookupEnd;
+        } else {
+            this.type = TokenType.TEXT;
+            this.start = this.position;
+            this.end = tagStart == -1 ? this.length : tagStart;
+        }
+        this.position = this.end;
+        return true;
+    }
+
+    /**
+     * Moves the tokenizer to the given position.
+     * The next call to {@link #next()} will read from there.
+     *
+     * @param position the position
+     */
+    public void seek(final int position) {
+        this.position = Math.max(0, Math.min(position, this.length));
+        this.type = null;
+    }
+
+    /**
+     * Finds the start of the first tag at or after the given index.
+     *
+     * @param from the index to start searching from
+     * @return the start of the tag, or -1 if none was found
+     */
+    int findNextTag(final int from) {
+        // No tag exists between the last lookup and its result, so the result is still valid
+        if (this.lookupFrom <= from && (this.lookupStart == -1 || this.lookupStart >= from))
+            return this.lookupStart;
+        this.lookupFrom = from;
+        int index = from;
+        while ((index = this.raw.indexOf('<', index)) != -1) {
+            final int tagEnd = findTagEnd(this.raw, index);
+            if (tagEnd != -1) {
+                this.lookupStart = index;
+                this.lookupEnd = tagEnd;
+                return index;
+            }
+            index++;
+        }
+        this.lookupStart = -1;
+        this.lookupEnd = -1;
+        return -1;
+    }
+
+    /**
+     * Gets the type of the current token.
+     *
+     * @return the type, or null if no token has been read
+     */
+    public TokenType getType() {
+        return this.type;
+    }
+
+    /**
+     * Gets the start index (inclusive) of the current token.
+     *
+     * @return the start
+     */
+    public int getStart() {
+        return this.start;
+    }
+
+    /**
+     * Gets the end index (exclusive) of the current token.
+     *
+     * @return the end
+     */
+    public int getEnd() {
+        return this.end;
+    }
+
+    /**
+     * Gets the current position of the tokenizer.
+     *
+     * @return the position
+     */
+    public int getPosition() {
+        return this.position;
+    }
+
+    /**
+     * Gets the text covered by the current token.
+     *
+     * @return the text
+     */
+    public @NotNull String getText() {
+        return this.raw.substring(this.start, this.end);
+    }
+
+    /**
+     * Gets the name of the current tag token.
+     * This is the content of the tag up to the first space.
+     * For example, in "&#60;hex color=#FF00AA&#62;" the name is "hex".
+     *
+     * @return the tag name
+     */
+    public @NotNull String getTagName() {
+        if (this.type != TokenType.TAG) throw new IllegalStateException("Current token is not a tag");
+        final int contentStart = this.start + 1;
+        final int contentEnd = this.end - 1;
+        int nameEnd = this.raw.indexOf(' ', contentStart);
+        if (nameEnd == -1 || nameEnd > contentEnd) nameEnd = contentEnd;
+        return this.raw.substring(contentStart, nameEnd);
+    }
+
+    /**
+     * Checks if a tag starts at the given index and, if so, returns its end.
+     *
+     * @param raw   the raw string
+     * @param start the index of the opening '&#60;'
+     * @return the end index (exclusive) of the tag, or -1 if there is no valid tag
+     */
+    static int findTagEnd(final @NotNull String raw, final int start) {
+        final int length = raw.length();
+        if (start + 1 >= length || raw.charAt(start) != '<') return -1;
+
+        // <[^<>]+>
+        int i = skipTagContent(raw, start + 1, (char) 0);
+        if (i < length && raw.charAt(i) == '>' && i > start + 1) return i + 1;
+
+        // <"[^<>"]*<[^<>"]*>"> or <'[^<>]*<[^<>]*>'>
+        final char quote = raw.charAt(start + 1);
+        if (quote != '"' && quote != '\'') return -1;
+        final char forbidden = quote == '"' ? quote : (char) 0;
+        i = skipTagContent(raw, start + 2, forbidden);
+        if (i >= length || raw.charAt(i) != '<') return -1;
+        i = skipTagContent(raw, i + 1, forbidden);
+        if (i >= length || raw.charAt(i) != '>') return -1;
+        if (i + 2 < length && raw.charAt(i + 1) == quote && raw.charAt(i + 2) == '>') return i + 3;
+        return -1;
+    }
+
+    /**
+     * Skips every character until a '&#60;', a '&#62;' or the forbidden character is found.
+     *
+     * @param raw       the raw string
+     * @param index     the index to start from
+     * @param forbidden an additional character that stops the scan (0 for none)
+     * @return the index of the first stopping character, or the length of the string
+     */
+    private static int skipTagContent(final @NotNull String raw, int index, final char forbidden) {
+        final int length = raw.length();
+        while (index < length) {
+            final char c = raw.charAt(index);
+            if (c == '<' || c == '>' || (forbidden != 0 && c == forbidden)) break;
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * The type of token.
+     */
+    enum TokenType {
+        /**
+         * Plain text.
+         */
+        TEXT,
+        /**
+         * A tag in the form &#60;<i>content</i>&#62;.
+         */
+        TAG
+    }
+
+}
@@ -1,26 +1,27 @@
 package it.fulminazzo.amplitude.component;
 
 import it.fulminazzo.amplitude.util.StringUtils;
-import lombok.Getter;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-
 /**
  * An implementation of {@link Component} that mimics XML tags.
  * This means that for any container component, opening and closing tags are required.
  * If those are not provided, a {@link InvalidComponentException} will be thrown.
  * <p>
  * Example: "&#60;component&#62;This is contained&#60;/component&#62;" is a valid container component.
+ * Containers with the same tag can be nested, as every start tag is matched with its own end tag.
+ * <p>
+ * When read from a raw text, the content is parsed only the first time that the child is requested
+ * (for example, by {@link #getChild()} or {@link #getText()}), so invalid contents are reported only then.
  *
  * @param <C> the type of this component
  */
 @SuppressWarnings("unchecked")
-@Getter
 abstract class ContainerComponent<C extends OptionComponent<C>> extends OptionComponent<C> {
     protected @Nullable Component child;
+    // The content not parsed yet: when not null, child is not valid
+    private transient volatile @Nullable String rawChild;
 
     /**
      * Instantiates a new Container component.
@@ -43,47 +44,90 @@ abstract class ContainerComponent<C extends OptionComponent<C>> extends OptionCo
 
     @Override
     public @NotNull C setContent(@Nullable String rawText) {
+        checkNotFrozen();
         if (rawText == null) return (C) this;
         this.tagOptions.clear();
 
-        Matcher startMatcher = getTagRegex(tagName).matcher(rawText);
-        if (!startMatcher.find())
+        final int startTag = findStartTag(rawText, 0);
+        final int start = startTag == -1 ? -1 : StringUtils.indexOfQuoteSensitive(rawText, '>', startTag) + 1;
+        if (start <= 0)
             throw new InvalidComponentException(String.format("Could not find valid start <%s> for component %s",
                     tagName, this.getClass().getSimpleName()));
 
-        final String endRegex = "</" + tagName + ">";
-        Matcher endMatcher = Pattern.compile(endRegex).matcher(rawText);
-        if (!endMatcher.find())
+        final int end = findEndTag(rawText, start);
+        if (end == -1)
             throw new InvalidComponentException(String.format("Could not find valid end </%s> for component %s",
                     tagName, this.getClass().getSimpleName()));
 
-        int start = startMatcher.end();
-
-        startMatcher = Component.TAG_REGEX.matcher(startMatcher.group());
-        if (startMatcher.find()) {
-            String match = startMatcher.group(1);
-            if (match != null) {
-                String split = StringUtils.splitQuoteSensitive(rawText, '>')[0].substring(1);
-                start += split.length() + 2 - start;
-                setOptions(split.substring(tagName.length()));
-            }
-        }
+        setOptions(rawText.substring(startTag + 1 + tagName.length(), start - 1));
 
-        final String content = rawText.substring(start, endMatcher.end() - endRegex.length());
-        setChild(content);
+        final String content = rawText.substring(start, end);
+        this.child = null;
+        this.rawChild = content.trim().isEmpty() ? null : content;
 
-        rawText = rawText.substring(endMatcher.end());
+        rawText = rawText.substring(end + tagName.length() + 3);
         if (rawText.trim().isEmpty()) return (C) this;
         else return setNext(rawText);
     }
 
+    /**
+     * Finds the first start tag of this component (&#60;<i>tag</i> followed by a space or by '&#62;').
+     *
+     * @param rawText the raw text
+     * @param from    the index to start from
+     * @return the index of the tag, or -1 if not found
+     */
+    private int findStartTag(final @NotNull String rawText, final int from) {
+        final int length = this.tagName.length();
+        for (int i = rawText.indexOf('<', from); i != -1; i = rawText.indexOf('<', i + 1)) {
+            final int next = i + 1 + length;
+            if (next < rawText.length() && rawText.startsWith(this.tagName, i + 1)) {
+                final char c = rawText.charAt(next);
+                if (c == '>' || Character.isWhitespace(c)) return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Finds the end tag matching a start tag of this component, skipping the ones of nested components with the same tag.
+     *
+     * @param rawText the raw text
+     * @param from    the index after the start tag
+     * @return the index of the end tag, or -1 if not found
+     */
+    private int findEndTag(final @NotNull String rawText, int from) {
+        final int length = this.tagName.length();
+        int depth = 1;
+        int start = findStartTag(rawText, from);
+        while (true) {
+            final int end = rawText.indexOf("</", from);
+            if (end == -1) return -1;
+            if (start != -1 && start < end) {
+                // Skip the options of the nested component, as they might contain its end tag
+                from = StringUtils.indexOfQuoteSensitive(rawText, '>', start) + 1;
+                if (from == 0) return -1;
+                depth++;
+                start = findStartTag(rawText, from);
+            } else if (rawText.startsWith(this.tagName, end + 2) && end + 2 + length < rawText.length() &&
+                    rawText.charAt(end + 2 + length) == '>') {
+                if (--depth == 0) return end;
+                from = end + 3 + length;
+            } else from = end + 2;
+        }
+    }
+
     /**
      * Get the inner text from the children using {@link Component#toRaw(Component)}.
+     * If the content of this component has not been parsed yet, it is returned as it is.
      *
      * @return the text
      */
     @Override
     public @Nullable String getText() {
+        final String rawChild = this.rawChild;
+        if (rawChild != null) return rawChild;
+        final Component child = getChild();
         return child == null ? null : Component.toRaw(child);
     }
 
@@ -94,8 +138,10 @@ abstract class ContainerComponent<C extends OptionComponent<C>> extends OptionCo
      */
     @Override
     public @NotNull C setText(@Nullable String text) {
+        checkNotFrozen();
+        this.rawChild = null;
         this.child = null;
-        if (text != null) this.child = Component.fromRaw(text);
+        if (text != null) this.child = Component.parse(text);
         return (C) this;
     }
 
@@ -107,28 +153,86 @@ abstract class ContainerComponent<C extends OptionComponent<C>> extends OptionCo
      */
     public @NotNull C setChild(@Nullable String rawText) {
         if (rawText == null || rawText.trim().isEmpty()) return (C) this;
-        return setChild(Component.fromRaw(rawText));
+        return setChild(Component.parse(rawText));
     }
 
     /**
      * Sets the child component and applies {@link #setSameOptions(Component)} method.
+     * If the child is frozen, a modifiable copy of it is used.
      *
      * @param child the child
      * @return this component
      */
     public @NotNull C setChild(Component child) {
+        checkNotFrozen();
+        this.rawChild = null;
+        this.child = child == null ? null : child.thaw();
+        return setSameOptions(this.child);
+    }
+
+    /**
+     * Gets the child component, parsing the content of this component if not done yet.
+     *
+     * @return the child
+     */
+    public @Nullable Component getChild() {
+        if (this.rawChild != null) parseChild();
+        return this.child;
+    }
+
+    /**
+     * Parses the content of this component and applies {@link #setSameOptions(Component)} method.
+     * If this component is frozen, the child is frozen too.
+     */
+    private synchronized void parseChild() {
+        final String rawChild = this.rawChild;
+        if (rawChild == null) return;
+        final Component child = Component.parse(rawChild);
+        setSameOptions(child);
+        if (isFrozen()) child.freeze();
         this.child = child;
-        return setSameOptions(child);
+        this.rawChild = null;
+    }
+
+    /**
+     * Check if two components are similar using {@link Component#isSimilar(Component)}.
+     * The children are parsed before being compared.
+     *
+     * @param component the text component
+     * @return true if they are similar
+     */
+    @Override
+    public boolean isSimilar(@Nullable Component component) {
+        if (component == null || !getClass().equals(component.getClass())) return false;
+        getChild();
+        ((ContainerComponent<?>) component).getChild();
+        return super.isSimilar(component);
     }
 
     @Override
-    public boolean contains(@NotNull Component component) {
-        if (!super.contains(component)) return false;
-        if (!this.getClass().equals(component.getClass())) return next != null && next.contains(component);
+    protected @Nullable Boolean containsSingle(@NotNull Component component) {
+        final Boolean contained = super.containsSingle(component);
+        if (!this.getClass().equals(component.getClass()) || Boolean.FALSE.equals(contained)) return contained;
         ContainerComponent<?> containerComponent = (ContainerComponent<?>) component;
         Component c1 = getChild();
         Component c2 = containerComponent.getChild();
-        return (c1 == null && c2 == null) || (c1 != null && c2 != null && c1.contains(c2));
+        if ((c1 == null && c2 == null) || (c1 != null && c2 != null && c1.contains(c2))) return contained;
+        else return false;
+    }
+
+    @Override
+    protected @NotNull ContainerComponent<C> clone() {
+        final ContainerComponent<C> clone = (ContainerComponent<C>) super.clone();
+        final String rawChild = this.rawChild;
+        clone.rawChild = rawChild;
+        clone.child = rawChild == null && this.child != null ? this.child.copy() : null;
+        return clone;
+    }
+
+    @Override
+    protected void freezeSingle() {
+        super.freezeSingle();
+        if (this.child != null) this.child.freeze();
     }
 
     @Override
@@ -136,6 +240,13 @@ abstract class ContainerComponent<C extends OptionComponent<C>> extends OptionCo
         return super.serializeSingle() + "</" + tagName + ">";
     }
 
+    @Override
+    public @NotNull String toString() {
+        // Show the child even if not parsed yet
+        getChild();
+        return super.toString();
+    }
+
     /**
      * Check if the current component is empty using {@link OptionComponent#isEmpty()} and {@link #child}.
      *
@@ -143,7 +254,9 @@ abstract class ContainerComponent<C extends OptionComponent<C>> extends OptionCo
      */
     @Override
     public boolean isEmpty() {
-        return super.isEmpty() && (child == null || child.isEmpty());
+        if (!super.isEmpty()) return false;
+        final Component child = getChild();
+        return child == null || child.isEmpty();
     }
 
 }
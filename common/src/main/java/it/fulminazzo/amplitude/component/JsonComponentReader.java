@@ -0,0 +1,620 @@
+package it.fulminazzo.amplitude.component;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Reads vanilla Minecraft chat JSON into components, one token at a time using a {@link JsonReader}.
+ * <p>
+ * Text, "translate" and "with", colors (including hex), fonts, decorations, "insertion", "extra",
+ * click events and hover events are supported, both in the format used until Minecraft 1.21.4
+ * ("clickEvent", "hoverEvent" with "value" or "contents") and in the one used since 1.21.5 ("click_event", "hover_event").
+ * Any other property is skipped.
+ * <p>
+ * In JSON, a component inherits the style of its parent, while in Amplitude every component inherits the style of the previous one.
+ * Therefore, every text is given its whole style, and a color (or a font or a decoration) of the previous component
+ * that should not be inherited is replaced with {@link Color#WHITE} (or {@link Font#DEFAULT} or false).
+ * Events are mapped to {@link ClickComponent}, {@link HoverComponent} and {@link InsertionComponent} containing the text and its children.
+ * <p>
+ * No JSON tree is built: unsupported values are skipped, and only the mapped values of a JSON component are kept
+ * (in a {@link Node}) until the end of the outermost component that contains them.
+ * They cannot be converted earlier, because the keys of an object can come in any order
+ * (since Minecraft 1.20.3, "extra" is written before the style), while the style and the events of a parent
+ * decide the class, the style and the container of each of its children.
+ * Values that do not inherit anything are converted earlier: the arguments of "with" and the names of entities
+ * as soon as they are read, and the contents of hover events as soon as their event ends
+ * (since they can be read before the action that tells how to interpret them).
+ */
+final class JsonComponentReader {
+    private static final Style[] DECORATIONS = {Style.OBFUSCATED, Style.BOLD, Style.STRIKETHROUGH, Style.UNDERLINED, Style.ITALIC};
+
+    private final @NotNull JsonReader reader;
+
+    /**
+     * Instantiates a new Json component reader.
+     *
+     * @param reader the reader
+     */
+    JsonComponentReader(final @NotNull JsonReader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Reads the next JSON value as a component.
+     *
+     * @return the component (null if the value is null)
+     * @throws IOException if the reader fails
+     */
+    @Nullable Component read() throws IOException {
+        final Node node = readNode();
+        if (node == null) return null;
+        final Component component = build(node, Fields.NONE);
+        return component == null ? new Component() : component;
+    }
+
+    private @Nullable Component build(final @NotNull Node node, final @NotNull Fields parent) {
+        final Chain chain = new Chain();
+        append(node, parent, chain);
+        return chain.head;
+    }
+
+    /**
+     * Appends the components of the given node (and of its children) to the given chain.
+     *
+     * @param node   the node
+     * @param parent the style inherited from the parent node
+     * @param chain  the chain
+     */
+    private void append(final @NotNull Node node, final @NotNull Fields parent, final @NotNull Chain chain) {
+        final Fields style = node.style.inherit(parent);
+        if (!node.hasEvents()) {
+            appendContent(node, style, chain);
+            return;
+        }
+
+        // A container inherits the style of the previous component, and so does its first child
+        final Chain content = new Chain();
+        content.carried = chain.carried;
+        appendContent(node, style, content);
+        if (content.head == null) return;
+
+        Component component = content.head;
+        if (node.hoverOptions != null) component = new HoverComponent().setChild(component);
+        if (node.hoverOptions != null) setOptions((HoverComponent) component, node.hoverOptions);
+        if (node.clickAction != null) {
+            final ClickComponent clickComponent = new ClickComponent().setChild(component);
+            final Map<String, String> options = new LinkedHashMap<>();
+            options.put("action", node.clickAction.name());
+            options.put(new ArrayList<>(node.clickAction.getRequiredOptions().keySet()).get(0), node.clickValue);
+            setOptions(clickComponent, options);
+            component = clickComponent;
+        }
+        if (node.insertion != null) {
+            final InsertionComponent insertionComponent = new InsertionComponent().setChild(component);
+            setOptions(insertionComponent, Collections.singletonMap("text", node.insertion));
+            component = insertionComponent;
+        }
+        chain.add(component, chain.carried);
+    }
+
+    private void appendContent(final @NotNull Node node, final @NotNull Fields style, final @NotNull Chain chain) {
+        if (node.translate != null) chain.add(createTranslatable(node, style, chain.carried), style);
+        else if (node.text != null && !node.text.isEmpty()) chain.add(createText(node.text, style, chain.carried), style);
+        if (node.extra != null)
+            for (Node child : node.extra) append(child, style, chain);
+    }
+
+    private @NotNull Component createText(final @NotNull String text, final @NotNull Fields style, final @NotNull Fields carried) {
+        final Fields fields = style.explicit(carried);
+        final Component component;
+        if (fields.color != null && fields.color.isCustom()) {
+            final HexComponent hexComponent = new HexComponent();
+            setOptions(hexComponent, Collections.singletonMap("color", fields.color.getCode()));
+            component = hexComponent;
+        } else if (fields.font != null) {
+            final FontComponent fontComponent = new FontComponent();
+            setOptions(fontComponent, Collections.singletonMap("id", fields.font.name()));
+            component = fontComponent;
+        } else component = new Component();
+        component.setText(text);
+        fields.apply(component);
+        return component;
+    }
+
+    private @NotNull Component createTranslatable(final @NotNull Node node, final @NotNull Fields style, final @NotNull Fields carried) {
+        final TranslatableComponent component = new TranslatableComponent();
+        final List<Component> arguments = node.with == null ? Collections.emptyList() : node.with;
+        final List<String> rawArguments = new ArrayList<>();
+        for (Component argument : arguments) {
+            final String raw = argument.serialize();
+            rawArguments.add(raw.indexOf('&') == -1 ? raw : "'" + raw + "'");
+        }
+        if (!arguments.isEmpty()) component.setTagOption("arguments", String.join("&", rawArguments));
+        component.setChild(new Component().setText(node.translate));
+        component.setArguments(new ArrayList<>(arguments));
+        style.explicit(carried).apply(component);
+        return component;
+    }
+
+    private static void setOptions(final @NotNull OptionComponent<?> component, final @NotNull Map<String, String> options) {
+        component.tagOptions.putAll(options);
+        component.checkOptions();
+        if (component instanceof HexComponent) component.setColor(new Color(((HexComponent) component).getHexColor()), false);
+        else if (component instanceof FontComponent) component.setFont(Font.valueOf(((FontComponent) component).getFontID()), false);
+    }
+
+    /**
+     * Reads the next JSON value as a node.
+     * A string is a text, while an array is a node followed by its children.
+     *
+     * @return the node (null if the value is null)
+     * @throws IOException if the reader fails
+     */
+    private @Nullable Node readNode() throws IOException {
+        switch (this.reader.peek()) {
+            case NULL:
+                this.reader.nextNull();
+                return null;
+            case STRING:
+            case NUMBER:
+            case BOOLEAN: {
+                final Node node = new Node();
+                node.text = nextString();
+                return node;
+            }
+            case BEGIN_ARRAY: {
+                this.reader.beginArray();
+                Node node = null;
+                while (this.reader.hasNext()) {
+                    final Node next = readNode();
+                    if (next == null) continue;
+                    if (node == null) node = next;
+                    else node.addExtra(next);
+                }
+                this.reader.endArray();
+                return node;
+            }
+            case BEGIN_OBJECT:
+                return readObject(null);
+            default:
+                throw new InvalidComponentException("Expected a JSON component but found " + this.reader.peek() + " at " + this.reader.getPath());
+        }
+    }
+
+    /**
+     * Reads a JSON object as a node.
+     * If the contents of a hover event are given, also the keys of its items and entities are read in them.
+     *
+     * @param contents the contents of a hover event (null if not reading a hover event)
+     * @return the node
+     * @throws IOException if the reader fails
+     */
+    private @NotNull Node readObject(final @Nullable Map<String, String> contents) throws IOException {
+        final Node node = new Node();
+        this.reader.beginObject();
+        while (this.reader.hasNext()) {
+            final String name = this.reader.nextName();
+            switch (name) {
+                case "text":
+                    node.text = nextString();
+                    break;
+                case "translate":
+                    node.translate = nextString();
+                    break;
+                case "with":
+                    node.with = readArguments();
+                    break;
+                case "extra":
+                    for (Node child : readNodes()) node.addExtra(child);
+                    break;
+                case "color": {
+                    final String color = nextString();
+                    if (color != null) node.style.color = parseColor(color);
+                    break;
+                }
+                case "font": {
+                    final String font = nextString();
+                    if (font != null) node.style.font = parseFont(font);
+                    break;
+                }
+                case "insertion":
+                    node.insertion = nextString();
+                    break;
+                case "clickEvent":
+                case "click_event":
+                    readClickEvent(node);
+                    break;
+                case "hoverEvent":
+                case "hover_event":
+                    readHoverEvent(node);
+                    break;
+                default: {
+                    final Style style = getDecoration(name);
+                    if (style != null) node.style.styles[style.ordinal()] = nextBoolean();
+                    else if (contents == null || !readHoverContent(name, contents)) this.reader.skipValue();
+                }
+            }
+        }
+        this.reader.endObject();
+        return node;
+    }
+
+    /**
+     * Reads the arguments of a translatable component, converting each one as soon as it is read.
+     *
+     * @return the arguments
+     * @throws IOException if the reader fails
+     */
+    private @NotNull List<Component> readArguments() throws IOException {
+        final List<Component> arguments = new ArrayList<>();
+        for (Node node : readNodes()) {
+            final Component argument = build(node, Fields.NONE);
+            arguments.add(argument == null ? new Component() : argument);
+        }
+        return arguments;
+    }
+
+    private @NotNull List<Node> readNodes() throws IOException {
+        final List<Node> nodes = new ArrayList<>();
+        if (this.reader.peek() != JsonToken.BEGIN_ARRAY) {
+            final Node node = readNode();
+            if (node != null) nodes.add(node);
+            return nodes;
+        }
+        this.reader.beginArray();
+        while (this.reader.hasNext()) {
+            final Node node = readNode();
+            if (node != null) nodes.add(node);
+        }
+        this.reader.endArray();
+        return nodes;
+    }
+
+    private void readClickEvent(final @NotNull Node node) throws IOException {
+        String action = null;
+        String value = null;
+        this.reader.beginObject();
+        while (this.reader.hasNext()) {
+            final String name = this.reader.nextName();
+            if (name.equals("action")) action = nextString();
+            else if (this.reader.peek() == JsonToken.STRING || this.reader.peek() == JsonToken.NUMBER) value = nextString();
+            else this.reader.skipValue();
+        }
+        this.reader.endObject();
+
+        if (action == null || value == null) return;
+        try {
+            node.clickAction = ClickAction.valueOf(action.toUpperCase());
+            node.clickValue = value;
+        } catch (IllegalArgumentException ignored) {
+            // Unsupported action
+        }
+    }
+
+    private void readHoverEvent(final @NotNull Node node) throws IOException {
+        String action = null;
+        final Map<String, String> options = new LinkedHashMap<>();
+        // The contents are read before knowing the action, and interpreted when the event ends
+        final Map<String, String> contents = new LinkedHashMap<>();
+        String value = null;
+        Node text = null;
+        String id = null;
+        this.reader.beginObject();
+        while (this.reader.hasNext()) {
+            final String name = this.reader.nextName();
+            switch (name) {
+                case "action":
+                    action = nextString();
+                    break;
+                case "contents":
+                case "value": {
+                    final JsonToken token = this.reader.peek();
+                    if (token == JsonToken.STRING) value = nextString();
+                    else if (token == JsonToken.BEGIN_OBJECT) text = readObject(contents);
+                    else text = readNode();
+                    break;
+                }
+                // Since 1.21.5, the contents of items and entities are in the event
+                case "id":
+                    id = nextString();
+                    break;
+                case "uuid":
+                    options.put("id", nextUUID());
+                    break;
+                case "count":
+                    options.put("Count", nextString() + "b");
+                    break;
+                case "name":
+                    options.put("name", nextPlainText());
+                    break;
+                default:
+                    this.reader.skipValue();
+            }
+        }
+        this.reader.endObject();
+
+        if (action == null) return;
+        final HoverAction hoverAction;
+        try {
+            hoverAction = HoverAction.valueOf(action.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            // Unsupported action
+            return;
+        }
+        if (hoverAction == HoverAction.SHOW_TEXT) {
+            if (value != null) {
+                text = new Node();
+                text.text = value;
+            }
+            final Component component = text == null ? null : build(text, Fields.NONE);
+            options.put("text", component == null ? "" : component.serialize());
+            node.hoverOptions = hoverOptions(hoverAction, options);
+            return;
+        }
+        if (id != null) options.put(hoverAction == HoverAction.SHOW_ENTITY ? "type" : "id", id);
+        options.putAll(contents);
+        if (hoverAction == HoverAction.SHOW_ACHIEVEMENT && value != null)
+            options.put("id", value.replaceFirst("^achievement\\.", ""));
+        if (hoverAction == HoverAction.SHOW_ITEM) {
+            if (!options.containsKey("id")) return;
+            options.putIfAbsent("Count", "1b");
+        } else if (hoverAction == HoverAction.SHOW_ENTITY) {
+            if (!options.containsKey("type") || !options.containsKey("id")) return;
+            options.putIfAbsent("name", "");
+        } else if (!options.containsKey("id")) return;
+        node.hoverOptions = hoverOptions(hoverAction, options);
+    }
+
+    private static @NotNull Map<String, String> hoverOptions(final @NotNull HoverAction action,
+                                                             final @NotNull Map<String, String> options) {
+        final Map<String, String> hoverOptions = new LinkedHashMap<>();
+        hoverOptions.put("action", action.name());
+        hoverOptions.putAll(options);
+        return hoverOptions;
+    }
+
+    /**
+     * Reads the value of the given key of the contents of an item or an entity, if it is one of them.
+     *
+     * @param name    the key
+     * @param options the options read until now
+     * @return true if the value was read
+     * @throws IOException if the reader fails
+     */
+    private boolean readHoverContent(final @NotNull String name, final @NotNull Map<String, String> options) throws IOException {
+        switch (name) {
+            case "id":
+                // The id of an entity is its UUID, which can be an array of integers
+                if (this.reader.peek() == JsonToken.BEGIN_ARRAY) options.put("id", nextUUID());
+                else options.put("id", nextString());
+                return true;
+            case "type":
+                options.put("type", nextString());
+                return true;
+            case "count":
+            case "Count":
+                options.put("Count", nextString().replaceAll("[bB]$", "") + "b");
+                return true;
+            case "tag":
+                options.put("Tag", nextString());
+                return true;
+            case "name":
+                options.put("name", nextPlainText());
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private @Nullable String nextString() throws IOException {
+        switch (this.reader.peek()) {
+            case NULL:
+                this.reader.nextNull();
+                return null;
+            case BOOLEAN:
+                return String.valueOf(this.reader.nextBoolean());
+            default:
+                return this.reader.nextString();
+        }
+    }
+
+    private @Nullable Boolean nextBoolean() throws IOException {
+        switch (this.reader.peek()) {
+            case NULL:
+                this.reader.nextNull();
+                return null;
+            case STRING:
+                return Boolean.parseBoolean(this.reader.nextString());
+            default:
+                return this.reader.nextBoolean();
+        }
+    }
+
+    /**
+     * Reads a UUID, either as a string or as an array of four integers.
+     *
+     * @return the UUID
+     * @throws IOException if the reader fails
+     */
+    private @NotNull String nextUUID() throws IOException {
+        if (this.reader.peek() != JsonToken.BEGIN_ARRAY) return String.valueOf(nextString());
+        final int[] ints = new int[4];
+        this.reader.beginArray();
+        for (int i = 0; this.reader.hasNext(); i++) {
+            final int value = this.reader.nextInt();
+            if (i < ints.length) ints[i] = value;
+        }
+        this.reader.endArray();
+        return new UUID((long) ints[0] << 32 | ints[1] & 0xFFFFFFFFL, (long) ints[2] << 32 | ints[3] & 0xFFFFFFFFL).toString();
+    }
+
+    /**
+     * Reads a JSON component and returns only its text.
+     *
+     * @return the text
+     * @throws IOException if the reader fails
+     */
+    private @NotNull String nextPlainText() throws IOException {
+        final StringBuilder builder = new StringBuilder();
+        readPlainText(builder);
+        return builder.toString();
+    }
+
+    /**
+     * Reads a JSON component and writes only its text to the given builder,
+     * placing the text of an object before the ones of its children.
+     *
+     * @param builder the builder
+     * @throws IOException if the reader fails
+     */
+    private void readPlainText(final @NotNull StringBuilder builder) throws IOException {
+        switch (this.reader.peek()) {
+            case NULL:
+                this.reader.nextNull();
+                break;
+            case BEGIN_ARRAY:
+                this.reader.beginArray();
+                while (this.reader.hasNext()) readPlainText(builder);
+                this.reader.endArray();
+                break;
+            case BEGIN_OBJECT: {
+                final int start = builder.length();
+                String text = null;
+                String translate = null;
+                this.reader.beginObject();
+                while (this.reader.hasNext()) {
+                    final String name = this.reader.nextName();
+                    if (name.equals("text")) text = nextString();
+                    else if (name.equals("translate")) translate = nextString();
+                    else if (name.equals("extra")) readPlainText(builder);
+                    else this.reader.skipValue();
+                }
+                this.reader.endObject();
+                if (text != null) builder.insert(start, text);
+                else if (translate != null) builder.insert(start, translate);
+                break;
+            }
+            default:
+                builder.append(nextString());
+        }
+    }
+
+    private static @Nullable Color parseColor(final @NotNull String color) {
+        if (color.startsWith("#")) return new Color(color.toUpperCase());
+        return Color.valueOf(color);
+    }
+
+    private static @Nullable Font parseFont(@NotNull String font) {
+        if (font.startsWith("minecraft:")) font = font.substring("minecraft:".length());
+        for (Font f : Font.values())
+            if (f.name().equalsIgnoreCase(font)) return f;
+        return null;
+    }
+
+    private static @Nullable Style getDecoration(final @NotNull String name) {
+        for (Style style : DECORATIONS)
+            if (style.getName().equals(name)) return style;
+        return null;
+    }
+
+    /**
+     * The style of a JSON component.
+     */
+    private static final class Fields {
+        static final Fields NONE = new Fields();
+
+        Color color;
+        Font font;
+        final Boolean[] styles = new Boolean[Style.values().length];
+
+        /**
+         * Gets a new style with the values of this one, or the ones of the parent when not given.
+         *
+         * @param parent the style of the parent
+         * @return the style
+         */
+        @NotNull Fields inherit(final @NotNull Fields parent) {
+            final Fields fields = new Fields();
+            fields.color = this.color == null ? parent.color : this.color;
+            fields.font = this.font == null ? parent.font : this.font;
+            for (int i = 0; i < this.styles.length; i++)
+                fields.styles[i] = this.styles[i] == null ? parent.styles[i] : this.styles[i];
+            return fields;
+        }
+
+        /**
+         * Gets a new style with the values of this one, where every value of the previous component
+         * that would be inherited by mistake is replaced with its default.
+         *
+         * @param previous the style of the previous component
+         * @return the style
+         */
+        @NotNull Fields explicit(final @NotNull Fields previous) {
+            final Fields fields = inherit(NONE);
+            if (fields.color == null && previous.color != null) fields.color = Color.WHITE;
+            if (fields.font == null && previous.font != null) fields.font = Font.DEFAULT;
+            for (int i = 0; i < fields.styles.length; i++)
+                if (fields.styles[i] == null && Boolean.TRUE.equals(previous.styles[i])) fields.styles[i] = false;
+            return fields;
+        }
+
+        /**
+         * Applies this style to the given component.
+         *
+         * @param component the component
+         */
+        void apply(final @NotNull Component component) {
+            if (this.color != null) component.setColor(this.color, false);
+            if (this.font != null) component.setFont(this.font, false);
+            for (Style style : DECORATIONS)
+                if (this.styles[style.ordinal()] != null) component.setStyle(style, this.styles[style.ordinal()], false);
+        }
+
+    }
+
+    /**
+     * A JSON component, with the values that can be mapped to a component.
+     */
+    private static final class Node {
+        final Fields style = new Fields();
+        String text;
+        String translate;
+        List<Component> with;
+        List<Node> extra;
+        String insertion;
+        ClickAction clickAction;
+        String clickValue;
+        Map<String, String> hoverOptions;
+
+        void addExtra(final @NotNull Node node) {
+            if (this.extra == null) this.extra = new ArrayList<>();
+            this.extra.add(node);
+        }
+
+        boolean hasEvents() {
+            return this.insertion != null || this.clickAction != null || this.hoverOptions != null;
+        }
+
+    }
+
+    /**
+     * The components built until now, and the style that the next one would inherit.
+     */
+    private static final class Chain {
+        Component head;
+        Fields carried = Fields.NONE;
+
+        void add(final @NotNull Component component, final @NotNull Fields style) {
+            if (this.head == null) this.head = component;
+            else this.head.addNext(component);
+            this.carried = style;
+        }
+
+    }
+
+}
@@ -0,0 +1,73 @@
+package it.fulminazzo.amplitude.component;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+
+/**
+ * An immutable hash table that finds values from their names, ignoring the case.
+ * Lookups compare the names in place, so they never allocate.
+ *
+ * @param <T> the type of the values
+ */
+final class NameTable<T> {
+    private final String @NotNull [] keys;
+    private final Object @NotNull [] values;
+    private final int mask;
+
+    /**
+     * Instantiates a new Name table.
+     *
+     * @param entries the names associated with their values (if two names are equal ignoring the case, the first one is kept)
+     */
+    NameTable(final @NotNull Map<String, T> entries) {
+        int size = Integer.highestOneBit(Math.max(entries.size(), 1) * 4);
+        this.keys = new String[size];
+        this.values = new Object[size];
+        this.mask = size - 1;
+        for (Map.Entry<String, T> entry : entries.entrySet()) {
+            final String key = entry.getKey();
+            int i = hash(key, 0, key.length()) & this.mask;
+            while (this.keys[i] != null && !this.keys[i].equalsIgnoreCase(key)) i = (i + 1) & this.mask;
+            if (this.keys[i] != null) continue;
+            this.keys[i] = key;
+            this.values[i] = entry.getValue();
+        }
+    }
+
+    /**
+     * Gets the value associated with the given name.
+     *
+     * @param name the name
+     * @return the value, or null if not found
+     */
+    @Nullable T get(final @Nullable String name) {
+        return name == null ? null : get(name, 0);
+    }
+
+    /**
+     * Gets the value associated with the name starting at the given index.
+     *
+     * @param name  the name
+     * @param start the index where the name starts
+     * @return the value, or null if not found
+     */
+    @SuppressWarnings("unchecked")
+    @Nullable T get(final @NotNull String name, final int start) {
+        final int length = name.length() - start;
+        int i = hash(name, start, name.length()) & this.mask;
+        for (String key = this.keys[i]; key != null; key = this.keys[i = (i + 1) & this.mask])
+            if (key.length() == length && name.regionMatches(true, start, key, 0, length))
+                return (T) this.values[i];
+        return null;
+    }
+
+    private static int hash(final @NotNull String string, final int start, final int end) {
+        int hash = 0;
+        for (int i = start; i < end; i++)
+            hash = 31 * hash + Character.toLowerCase(Character.toUpperCase(string.charAt(i)));
+        return hash ^ (hash >>> 16);
+    }
+
+}
@@ -3,14 +3,15 @@ package it.fulminazzo.amplitude.component;
 import com.google.gson.Gson;
 import it.fulminazzo.amplitude.component.validator.OptionValidator;
 import it.fulminazzo.amplitude.util.StringUtils;
+import lombok.AccessLevel;
 import lombok.Getter;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.Arrays;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -32,8 +33,13 @@ import java.util.stream.Collectors;
 @Getter
 abstract class OptionComponent<C extends OptionComponent<C>> extends Component {
     static final Pattern OPTIONS_REGEX = Pattern.compile("([^=\\n ]+)(?:=(\"((?:\\\\\"|[^\"])+)\"|'((?:\\\\'|[^'])+)'|[^ ]+))?", Pattern.DOTALL);
+    // The patterns returned by getTagRegex, compiled once per tag name
+    private static final Map<String, Pattern> TAG_REGEXES = new ConcurrentHashMap<>();
     protected final @NotNull String tagName;
-    protected final @NotNull Map<String, String> tagOptions;
+    protected transient @NotNull Map<String, String> tagOptions;
+    // The last option returned by getTagOptionComponent, valid as long as the option is not changed
+    @Getter(AccessLevel.NONE)
+    private transient volatile @Nullable ParsedOption parsedOption;
 
     /**
      * Instantiates a new Option component.
@@ -58,10 +64,11 @@ abstract class OptionComponent<C extends OptionComponent<C>> extends Component {
 
     @Override
     public @NotNull C setContent(@Nullable String rawText) {
+        checkNotFrozen();
         if (rawText == null) return (C) this;
         final Matcher matcher = TAG_REGEX.matcher(rawText);
         if (matcher.find()) {
-            String raw = StringUtils.splitQuoteSensitive(rawText, '>')[0].substring(1);
+            String raw = getTagContent(rawText).substring(1);
             final String tag = raw.split(" ")[0];
             if (tag.equals(tagName)) super.setContent(rawText.substring(raw.length() + 2));
             else setNext(rawText);
@@ -79,16 +86,21 @@ abstract class OptionComponent<C extends OptionComponent<C>> extends Component {
      * @param rawText the raw text
      */
     protected void setOptions(@Nullable String rawText) {
+        checkNotFrozen();
         this.tagOptions.clear();
 
         String rawOptions = null;
         if (rawText != null) {
             Matcher startMatcher = TAG_REGEX.matcher(rawText);
             if (startMatcher.find()) {
-                String raw = StringUtils.splitQuoteSensitive(rawText, '>')[0];
-                final String[] tmp = StringUtils.splitQuoteSensitive(raw, ' ');
-                if (tmp.length > 1)
-                    rawOptions = String.join(" ", Arrays.copyOfRange(tmp, 1, tmp.length));
+                String raw = getTagContent(rawText);
+                // Everything after the tag name, without trailing spaces
+                final int start = StringUtils.indexOfQuoteSensitive(raw, ' ', 0);
+                if (start != -1) {
+                    int end = raw.length();
+                    while (end > start + 1 && raw.charAt(end - 1) == ' ') end--;
+                    if (end > start + 1) rawOptions = raw.substring(start + 1, end);
+                }
             } else rawOptions = rawText;
         }
 
@@ -122,6 +134,17 @@ abstract class OptionComponent<C extends OptionComponent<C>> extends Component {
         checkOptions();
     }
 
+    /**
+     * Gets the text preceding the first '&#62;' which is not inside quotes.
+     *
+     * @param rawText the raw text
+     * @return the text
+     */
+    static @NotNull String getTagContent(final @NotNull String rawText) {
+        final int end = StringUtils.indexOfQuoteSensitive(rawText, '>', 0);
+        return end == -1 ? rawText : rawText.substring(0, end);
+    }
+
     /**
      * Check options.
      */
@@ -147,6 +170,26 @@ abstract class OptionComponent<C extends OptionComponent<C>> extends Component {
         return this.tagOptions.get(key);
     }
 
+    /**
+     * Gets a tag option from its name, parsed as a component using {@link Component#fromRaw(String)}.
+     * The parsed component is kept until the option is changed, so it is parsed only once
+     * even if this component is converted many times.
+     * Since it is shared, the returned component is frozen (see {@link #freeze()}).
+     *
+     * @param key the name
+     * @return the component (null if the option is not set)
+     */
+    public @Nullable Component getTagOptionComponent(final @NotNull String key) {
+        final String option = this.tagOptions.get(key);
+        if (option == null) return null;
+        final ParsedOption parsedOption = this.parsedOption;
+        if (parsedOption != null && parsedOption.key.equals(key) && parsedOption.option.equals(option))
+            return parsedOption.component;
+        final Component component = Component.fromRaw(option).freeze();
+        this.parsedOption = new ParsedOption(key, option, component);
+        return component;
+    }
+
     /**
      * Sets tag option.
      *
@@ -155,6 +198,7 @@ abstract class OptionComponent<C extends OptionComponent<C>> extends Component {
      * @return this component
      */
     public @NotNull C setTagOption(String key, String value) {
+        checkNotFrozen();
         this.tagOptions.put(key, value);
         return (C) this;
     }
@@ -179,21 +223,30 @@ abstract class OptionComponent<C extends OptionComponent<C>> extends Component {
 
     /**
      * Gets tag regex from the tag name.
+     * The regex is compiled only once per tag name.
      *
      * @param tagName the tag name
      * @return the tag regex
      */
     public static @NotNull Pattern getTagRegex(final @NotNull String tagName) {
-        String regex = "<" + tagName + " ?((?:(?!<" + tagName + ")(?!</" + tagName + ">).)*)";
-        return Pattern.compile(regex, Pattern.DOTALL);
+        return TAG_REGEXES.computeIfAbsent(tagName, t -> {
+            String regex = "<" + t + " ?((?:(?!<" + t + ")(?!</" + t + ">).)*)";
+            return Pattern.compile(regex, Pattern.DOTALL);
+        });
     }
 
     @Override
-    public boolean contains(final @NotNull Component component) {
-        if (this.getClass().equals(component.getClass())) {
-            if (!super.contains(component)) return false;
-            return this.getTagOptions().equals(((OptionComponent<?>) component).getTagOptions());
-        } else return next != null && next.contains(component);
+    protected @Nullable Boolean containsSingle(final @NotNull Component component) {
+        if (!this.getClass().equals(component.getClass())) return null;
+        if (!this.tagOptions.equals(((OptionComponent<?>) component).tagOptions)) return false;
+        return super.containsSingle(component);
+    }
+
+    @Override
+    protected @NotNull OptionComponent<C> clone() {
+        final OptionComponent<C> clone = (OptionComponent<C>) super.clone();
+        clone.tagOptions = new HashMap<>(this.tagOptions);
+        return clone;
     }
 
     @Override
@@ -341,4 +394,20 @@ abstract class OptionComponent<C extends OptionComponent<C>> extends Component {
         return (C) super.setStyle(style, value, propagate);
     }
 
+    /**
+     * A tag option parsed as a component.
+     */
+    private static final class ParsedOption {
+        private final @NotNull String key;
+        private final @NotNull String option;
+        private final @NotNull Component component;
+
+        ParsedOption(final @NotNull String key, final @NotNull String option, final @NotNull Component component) {
+            this.key = key;
+            this.option = option;
+            this.component = component;
+        }
+
+    }
+
 }
@@ -0,0 +1,150 @@
+package it.fulminazzo.amplitude.component;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The options of a {@link Component} class.
+ * Options are all the non-static, non-final and non-transient fields declared in the class and its superclasses
+ * (from the most specific to {@link Component}): the state of a component that is not an option is marked as transient.
+ * For custom components, only the fields starting from {@link CustomComponent} (or {@link CustomContainerComponent}) are used.
+ * Styles are not included, as they are packed in {@link Component#styleFlags} and handled directly by {@link Component}.
+ * <p>
+ * The fields are looked up only once per class, and then accessed using {@link MethodHandle}s.
+ */
+final class OptionFields {
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Component.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Component.class, Object.class);
+    private static final ClassValue<OptionFields> OPTION_FIELDS = new ClassValue<OptionFields>() {
+
+        @Override
+        protected OptionFields computeValue(final @NotNull Class<?> type) {
+            return new OptionFields(type);
+        }
+
+    };
+
+    private final String @NotNull [] names;
+    private final MethodHandle @NotNull [] getters;
+    private final MethodHandle @NotNull [] setters;
+    private final boolean @NotNull [] inheritable;
+
+    private OptionFields(final @NotNull Class<?> type) {
+        final Field[] fields = findFields(type);
+        final MethodHandles.Lookup lookup = MethodHandles.lookup();
+        this.names = new String[fields.length];
+        this.getters = new MethodHandle[fields.length];
+        this.setters = new MethodHandle[fields.length];
+        this.inheritable = new boolean[fields.length];
+        try {
+            for (int i = 0; i < fields.length; i++) {
+                final Field field = fields[i];
+                field.setAccessible(true);
+                this.names[i] = field.getName();
+                this.getters[i] = lookup.unreflectGetter(field).asType(GETTER_TYPE);
+                this.setters[i] = lookup.unreflectSetter(field).asType(SETTER_TYPE);
+                this.inheritable[i] = !Component.class.isAssignableFrom(field.getType());
+            }
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Gets the number of options.
+     *
+     * @return the size
+     */
+    public int size() {
+        return this.names.length;
+    }
+
+    /**
+     * Gets the name of the option at the given index.
+     *
+     * @param index the index
+     * @return the name
+     */
+    public @NotNull String getName(final int index) {
+        return this.names[index];
+    }
+
+    /**
+     * Checks if the option at the given index should be passed from a component to the following ones.
+     * Every option is inheritable, except for components.
+     *
+     * @param index the index
+     * @return true if it is inheritable
+     */
+    public boolean isInheritable(final int index) {
+        return this.inheritable[index];
+    }
+
+    /**
+     * Gets the value of the option at the given index from the component.
+     *
+     * @param index     the index
+     * @param component the component
+     * @return the value
+     */
+    public Object get(final int index, final @NotNull Component component) {
+        try {
+            return (Object) this.getters[index].invokeExact(component);
+        } catch (Throwable e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Sets the value of the option at the given index in the component.
+     *
+     * @param index     the index
+     * @param component the component
+     * @param value     the value
+     */
+    public void set(final int index, final @NotNull Component component, final Object value) {
+        try {
+            this.setters[index].invokeExact(component, value);
+        } catch (Throwable e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Gets the options of the given component class.
+     *
+     * @param type the class of the component
+     * @return the options
+     */
+    public static @NotNull OptionFields of(final @NotNull Class<? extends Component> type) {
+        return OPTION_FIELDS.get(type);
+    }
+
+    private static Field @NotNull [] findFields(@NotNull Class<?> clazz) {
+        List<Field> fields = new ArrayList<>();
+        // Ignore custom fields
+        if (CustomComponent.class.isAssignableFrom(clazz))
+            while (clazz != CustomComponent.class) clazz = clazz.getSuperclass();
+        if (CustomContainerComponent.class.isAssignableFrom(clazz))
+            while (clazz != CustomContainerComponent.class) clazz = clazz.getSuperclass();
+        while (Component.class.isAssignableFrom(clazz)) {
+            for (Field field : clazz.getDeclaredFields()) {
+                final int modifiers = field.getModifiers();
+                if (Modifier.isStatic(modifiers) || Modifier.isFinal(modifiers) || Modifier.isTransient(modifiers)) continue;
+                // The reference to the outer instance of inner classes
+                if (field.isSynthetic()) continue;
+                fields.add(field);
+            }
+            clazz = clazz.getSuperclass();
+        }
+        return fields.toArray(new Field[0]);
+    }
+
+}
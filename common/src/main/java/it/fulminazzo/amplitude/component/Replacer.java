@@ -0,0 +1,183 @@
+package it.fulminazzo.amplitude.component;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+import java.util.regex.Matcher;
+
+/**
+ * Replaces one or more sections of a serialized component in a single pass.
+ * <p>
+ * A single section is searched with {@link String#indexOf(String, int)},
+ * while many sections are searched together with an Aho-Corasick automaton.
+ * In both cases, the text is scanned from left to right and the first section to end is replaced
+ * (the longest one, if more end at the same character). The scan then restarts after the replaced section.
+ */
+final class Replacer {
+    private static final int ROOT = 0;
+    private final String @NotNull [] from;
+    private final String @NotNull [] to;
+    // The automaton, only built when there is more than one section to replace
+    private final List<Map<Character, Integer>> transitions;
+    private final int[] failures;
+    private final int[] outputs;
+
+    /**
+     * Instantiates a new Replacer.
+     *
+     * @param from the sections to replace
+     * @param to   the replacements, in the same order as the sections
+     */
+    Replacer(final String @NotNull [] from, final String @NotNull [] to) {
+        if (from.length != to.length)
+            throw new IllegalArgumentException("Expected as many replacements as sections to replace");
+        this.from = from;
+        this.to = to;
+        if (from.length == 1 && !from[0].isEmpty()) {
+            this.transitions = null;
+            this.failures = null;
+            this.outputs = null;
+            return;
+        }
+
+        // Build the trie
+        this.transitions = new ArrayList<>();
+        this.transitions.add(new HashMap<>());
+        final List<Integer> terminals = new ArrayList<>();
+        terminals.add(-1);
+        for (int i = 0; i < from.length; i++) {
+            int state = ROOT;
+            for (char c : from[i].toCharArray()) {
+                Integer next = this.transitions.get(state).get(c);
+                if (next == null) {
+                    next = this.transitions.size();
+                    this.transitions.add(new HashMap<>());
+                    terminals.add(-1);
+                    this.transitions.get(state).put(c, next);
+                }
+                state = next;
+            }
+            final int previous = terminals.get(state);
+            if (previous == -1 || from[previous].length() < from[i].length()) terminals.set(state, i);
+        }
+
+        // Compute failure links and outputs in breadth-first order
+        final int size = this.transitions.size();
+        this.failures = new int[size];
+        this.outputs = new int[size];
+        this.outputs[ROOT] = terminals.get(ROOT);
+        final Deque<Integer> queue = new ArrayDeque<>();
+        for (int child : this.transitions.get(ROOT).values()) {
+            this.failures[child] = ROOT;
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            final int state = queue.poll();
+            final int terminal = terminals.get(state);
+            this.outputs[state] = terminal == -1 ? this.outputs[this.failures[state]] : terminal;
+            for (Map.Entry<Character, Integer> entry : this.transitions.get(state).entrySet()) {
+                final int child = entry.getValue();
+                int failure = this.failures[state];
+                while (failure != ROOT && !this.transitions.get(failure).containsKey(entry.getKey()))
+                    failure = this.failures[failure];
+                final Integer target = this.transitions.get(failure).get(entry.getKey());
+                this.failures[child] = target == null ? ROOT : target;
+                queue.add(child);
+            }
+        }
+    }
+
+    /**
+     * Instantiates a new Replacer from the given map of sections and their replacements.
+     *
+     * @param replacements the replacements
+     */
+    Replacer(final @NotNull Map<String, String> replacements) {
+        this(replacements.keySet().toArray(new String[0]), replacements.values().toArray(new String[0]));
+    }
+
+    /**
+     * Replaces all the sections in the given serialized component.
+     *
+     * @param serialized    the serialized component
+     * @param maintainColor if true, colors preceding every replacement will be put next to it
+     * @return the resulting text
+     */
+    @NotNull String replace(final @NotNull String serialized, final boolean maintainColor) {
+        final Replacement replacement = new Replacement(serialized, maintainColor);
+        if (this.transitions == null) {
+            final String section = this.from[0];
+            for (int start = serialized.indexOf(section); start != -1; start = serialized.indexOf(section, start + section.length()))
+                replacement.replace(start, start + section.length(), this.to[0]);
+        } else {
+            int state = ROOT;
+            for (int i = 0; i < serialized.length(); i++) {
+                state = next(state, serialized.charAt(i));
+                final int output = this.outputs[state];
+                if (output != -1) {
+                    replacement.replace(i + 1 - this.from[output].length(), i + 1, this.to[output]);
+                    state = ROOT;
+                }
+            }
+        }
+        return replacement.toString();
+    }
+
+    private int next(int state, final char c) {
+        while (true) {
+            final Integer next = this.transitions.get(state).get(c);
+            if (next != null) return next;
+            if (state == ROOT) return ROOT;
+            state = this.failures[state];
+        }
+    }
+
+    /**
+     * The result of a replacement, built while the matches are found.
+     */
+    private static final class Replacement {
+        private final @NotNull String serialized;
+        private final boolean maintainColor;
+        private final @NotNull StringBuilder builder;
+        private final Set<ChatFormatter> colors = new LinkedHashSet<>();
+        private int last;
+
+        Replacement(final @NotNull String serialized, final boolean maintainColor) {
+            this.serialized = serialized;
+            this.maintainColor = maintainColor;
+            this.builder = new StringBuilder(serialized.length());
+        }
+
+        /**
+         * Replaces the section between the given indexes.
+         *
+         * @param start       the start index (inclusive)
+         * @param end         the end index (exclusive)
+         * @param replacement the replacement
+         */
+        void replace(final int start, final int end, final @NotNull String replacement) {
+            this.builder.append(this.serialized, this.last, start).append(replacement);
+            if (this.maintainColor) {
+                final Matcher tagMatcher = Component.TAG_REGEX.matcher(this.serialized).region(this.last, start);
+                while (tagMatcher.find()) {
+                    final ChatFormatter formatter = ChatFormatter.getChatFormatter(tagMatcher.group(1));
+                    if (formatter == null) continue;
+                    if (formatter == Style.RESET) this.colors.clear();
+                    else if (formatter instanceof Color) this.colors.removeIf(s -> s instanceof Color);
+                    this.colors.add(formatter);
+                }
+                for (final ChatFormatter color : this.colors)
+                    this.builder.append('<').append(color.getName()).append('>');
+            }
+            this.last = end;
+        }
+
+        @Override
+        public @NotNull String toString() {
+            if (this.last == 0) return this.serialized;
+            return this.builder.append(this.serialized, this.last, this.serialized.length()).toString();
+        }
+
+    }
+
+}
@@ -1,6 +1,7 @@
 package it.fulminazzo.amplitude.component;
 
 import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
 
 /**
  * An enum that represents all Minecraft styles.
@@ -44,9 +45,22 @@ public enum Style implements ChatFormatter {
      */
     RESET('r');
 
+    private static final String @NotNull [] NAMES;
+
+    static {
+        final Style[] styles = values();
+        NAMES = new String[styles.length];
+        for (Style style : styles) NAMES[style.ordinal()] = style.name().toLowerCase().replace("_", "");
+    }
+
     private final char identifierChar;
 
     Style(char identifierChar) {
         this.identifierChar = identifierChar;
     }
+
+    @Override
+    public @NotNull String getName() {
+        return NAMES[ordinal()];
+    }
 }
\ No newline at end of file
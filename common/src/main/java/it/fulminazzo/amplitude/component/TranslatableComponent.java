@@ -5,9 +5,8 @@ import lombok.Getter;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.lang.reflect.Field;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -28,7 +27,7 @@ import java.util.List;
  */
 @Getter
 public final class TranslatableComponent extends ContainerComponent<TranslatableComponent> {
-    private List<Component> arguments;
+    private transient List<Component> arguments;
 
     /**
      * Instantiates a new Translatable component.
@@ -57,8 +56,22 @@ public final class TranslatableComponent extends ContainerComponent<Translatable
     }
 
     @Override
-    protected Field @NotNull [] getOptionFields() {
-        return Arrays.stream(super.getOptionFields()).filter(f -> !f.getName().equals("arguments")).toArray(Field[]::new);
+    protected @NotNull TranslatableComponent clone() {
+        final TranslatableComponent clone = (TranslatableComponent) super.clone();
+        if (this.arguments != null) {
+            clone.arguments = new LinkedList<>();
+            for (Component argument : this.arguments) clone.arguments.add(argument.copy());
+        }
+        return clone;
+    }
+
+    @Override
+    protected void freezeSingle() {
+        super.freezeSingle();
+        if (this.arguments != null) {
+            this.arguments.forEach(Component::freeze);
+            this.arguments = Collections.unmodifiableList(this.arguments);
+        }
     }
 
     /**
@@ -68,7 +81,8 @@ public final class TranslatableComponent extends ContainerComponent<Translatable
      * @return this component
      */
     public @NotNull TranslatableComponent addArgument(final @Nullable String rawArgument) {
-        if (rawArgument != null) this.arguments.add(Component.fromRaw(rawArgument));
+        checkNotFrozen();
+        if (rawArgument != null) this.arguments.add(Component.parse(rawArgument));
         return this;
     }
 
@@ -79,6 +93,7 @@ public final class TranslatableComponent extends ContainerComponent<Translatable
      * @return this component
      */
     public @NotNull TranslatableComponent addArgument(final @Nullable Component component) {
+        checkNotFrozen();
         if (component != null) this.arguments.add(component);
         return this;
     }
@@ -90,6 +105,7 @@ public final class TranslatableComponent extends ContainerComponent<Translatable
      * @return this component
      */
     public @NotNull TranslatableComponent removeArgument(final @Nullable Component component) {
+        checkNotFrozen();
         if (component != null) this.arguments.removeIf(t -> t.equals(component));
         return this;
     }
@@ -107,7 +123,7 @@ public final class TranslatableComponent extends ContainerComponent<Translatable
             for (String arg : rawArguments) {
                 if (arg.startsWith("\"") && arg.endsWith("\"") || arg.startsWith("'") && arg.endsWith("'"))
                     arg = arg.substring(1, arg.length() - 1);
-                arguments.add(Component.fromRaw(arg));
+                arguments.add(Component.parse(arg));
             }
         }
         return setArguments(arguments);
@@ -120,7 +136,9 @@ public final class TranslatableComponent extends ContainerComponent<Translatable
      * @return this component
      */
     public @NotNull TranslatableComponent setArguments(final @Nullable List<Component> arguments) {
-        this.arguments.clear();
+        checkNotFrozen();
+        if (this.arguments == null) this.arguments = new LinkedList<>();
+        else this.arguments.clear();
         if (arguments != null) this.arguments.addAll(arguments);
         return this;
     }
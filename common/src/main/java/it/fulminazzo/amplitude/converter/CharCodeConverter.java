@@ -5,6 +5,9 @@ import it.fulminazzo.amplitude.exception.InvalidOptionException;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.IOException;
+import java.util.function.Function;
+
 /**
  * An implementation of {@link ComponentConverter} that mimics the Minecraft default behavior.
  * <p>
@@ -12,9 +15,34 @@ import org.jetbrains.annotations.Nullable;
  * <p>
  * "&#60;red&#62;Hello &#60;gold&#62;friend!"
  * =&#62; "&amp;cHello &amp;6friend!"
+ * <p>
+ * Components are converted by writing every code directly to a single {@link Appendable}
+ * (see {@link #convertTo(Component, Appendable)}), instead of summing the converted components.
+ * Components whose convert method is overridden by a subclass (or that have a registered converter)
+ * are still converted by that method, and its result is appended.
+ * If a subclass overrides {@link #applyColor(Object, Color)}, {@link #applyStyle(Object, Style, Boolean)},
+ * {@link #applyFont(Object, Font)} or {@link #reset(Object)}, every component is converted using those methods instead.
  */
 @SuppressWarnings("unchecked")
 public class CharCodeConverter extends ComponentConverter {
+    // Whether a converter class keeps the apply methods declared by this class, so that the codes can be written directly
+    private static final ClassValue<Boolean> DIRECT_CODES = new ClassValue<Boolean>() {
+
+        @Override
+        protected Boolean computeValue(final @NotNull Class<?> type) {
+            try {
+                return type.getMethod("applyColor", Object.class, Color.class).getDeclaringClass() == CharCodeConverter.class &&
+                        type.getMethod("applyStyle", Object.class, Style.class, Boolean.class).getDeclaringClass() == CharCodeConverter.class &&
+                        type.getMethod("applyFont", Object.class, Font.class).getDeclaringClass() == CharCodeConverter.class &&
+                        type.getMethod("reset", Object.class).getDeclaringClass() == CharCodeConverter.class;
+            } catch (NoSuchMethodException e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+    };
+
+    private final boolean directCodes = DIRECT_CODES.get(getClass());
     private final String charCode;
 
     /**
@@ -26,20 +54,117 @@ public class CharCodeConverter extends ComponentConverter {
         this.charCode = charCode;
     }
 
+    /**
+     * Converts the given component and its siblings, writing the result to the given appendable.
+     *
+     * @param <A>        the type of the appendable
+     * @param component  the component
+     * @param appendable the appendable
+     * @return the appendable
+     */
+    public <A extends Appendable> @NotNull A convertTo(final @Nullable Component component, final @NotNull A appendable) {
+        try {
+            append(component, appendable);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        return appendable;
+    }
+
     @Override
-    public @Nullable String convertSimpleComponent(@Nullable Component component) {
+    public <T> @Nullable T convertComponent(final @Nullable Component component) {
         if (component == null) return null;
-        String output = "";
-        if (component.isReset()) output = reset(output);
+        return (T) convertTo(component, new StringBuilder()).toString();
+    }
+
+    private void append(final @Nullable Component component, final @NotNull Appendable appendable) throws IOException {
+        for (Component current = component; current != null; current = current.getNext()) {
+            final Function<Component, ?> converter = getRegisteredConverter(current);
+            if (converter != null) appendable.append(String.valueOf(converter.apply(current)));
+            else if (this.directCodes && getConvertMethods().getDeclaringClass(current.getClass()) == CharCodeConverter.class)
+                appendSingle(current, appendable);
+            else appendable.append(String.valueOf(convertSingle(current)));
+        }
+    }
+
+    /**
+     * Writes the given component, ignoring its siblings, to the given appendable.
+     * It mirrors the convert methods declared by this class, which are used only
+     * when they are not overridden.
+     *
+     * @param component  the component
+     * @param appendable the appendable
+     * @throws IOException an exception thrown by the appendable
+     */
+    private void appendSingle(final @NotNull Component component, final @NotNull Appendable appendable) throws IOException {
+        if (component instanceof HoverComponent) append(((HoverComponent) component).getChild(), appendable);
+        else if (component instanceof ClickComponent) append(((ClickComponent) component).getChild(), appendable);
+        else if (component instanceof InsertionComponent) append(((InsertionComponent) component).getChild(), appendable);
+        else if (component instanceof HexComponent) appendHexComponent((HexComponent) component, appendable);
+        else if (component instanceof TranslatableComponent) {
+            final Component child = ((TranslatableComponent) component).getChild();
+            if (child != null) appendSimpleComponent(child, appendable);
+        } else appendSimpleComponent(component, appendable);
+    }
+
+    private void appendSimpleComponent(final @NotNull Component component, final @NotNull Appendable appendable) throws IOException {
+        if (component.isReset()) appendable.append(charCode).append('r');
         else {
             Color color = component.getColor();
-            if (color != null) output += applyColor(output, color);
-            Font font = component.getFont();
-            if (font != null) output += applyFont(output, font);
-            for (Style style : component.getStyles()) output += applyStyle(output, style, component.getStyle(style));
+            if (color != null) {
+                final String code = getColorCode(color);
+                appendable.append(code);
+                // Applying the font repeats the codes written until now
+                if (component.getFont() != null) appendable.append(code);
+            }
+            for (Style style : component.getStyles())
+                if (Boolean.TRUE.equals(component.getStyle(style)))
+                    appendable.append(charCode).append(style.getIdentifierChar());
+        }
+        appendable.append(component.getText());
+    }
+
+    private void appendHexComponent(final @NotNull HexComponent component, final @NotNull Appendable appendable) throws IOException {
+        final String color = component.getHexColor();
+        appendable.append(charCode).append('x');
+        for (int i = 1; i < color.length(); i++) appendable.append(charCode).append(color.charAt(i));
+        appendable.append(component.getText());
+    }
+
+    private @NotNull String getColorCode(final @NotNull Color color) {
+        final char idChar = color.getIdentifierChar();
+        if (idChar == '?') {
+            String code = color.getCode().toUpperCase()
+                    .replace("#", "x")
+                    .replace("", charCode);
+            if (code.endsWith(charCode)) code = code.substring(0, code.length() - 1);
+            return code;
+        } else return charCode + idChar;
+    }
+
+    @Override
+    public @Nullable String convertSimpleComponent(@Nullable Component component) {
+        if (component == null) return null;
+        if (!this.directCodes) {
+            String output = "";
+            if (component.isReset()) output = reset(output);
+            else {
+                Color color = component.getColor();
+                if (color != null) output += applyColor(output, color);
+                Font font = component.getFont();
+                if (font != null) output += applyFont(output, font);
+                for (Style style : component.getStyles()) output += applyStyle(output, style, component.getStyle(style));
+            }
+            output += component.getText();
+            return output;
+        }
+        try {
+            final StringBuilder builder = new StringBuilder();
+            appendSimpleComponent(component, builder);
+            return builder.toString();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
         }
-        output += component.getText();
-        return output;
     }
 
     @Override
@@ -55,10 +180,13 @@ public class CharCodeConverter extends ComponentConverter {
     @Override
     public @Nullable String convertHexComponent(@Nullable HexComponent component) throws InvalidOptionException {
         if (component == null) return null;
-        String color = component.getHexColor();
-        color = color.substring(1);
-        color = charCode + "x" + charCode + String.join(charCode, color.split(""));
-        return color + component.getText();
+        try {
+            final StringBuilder builder = new StringBuilder();
+            appendHexComponent(component, builder);
+            return builder.toString();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
     }
 
     @Override
@@ -87,14 +215,7 @@ public class CharCodeConverter extends ComponentConverter {
     @Override
     public <T> @Nullable T applyColor(@Nullable T component, @NotNull Color color) {
         if (component == null) return null;
-        final char idChar = color.getIdentifierChar();
-        if (idChar == '?') {
-            String code = color.getCode().toUpperCase()
-                    .replace("#", "x")
-                    .replace("", charCode);
-            if (code.endsWith(charCode)) code = code.substring(0, code.length() - 1);
-            return (T) code;
-        } else return (T) (charCode + idChar);
+        return (T) getColorCode(color);
     }
 
     @Override
@@ -6,29 +6,67 @@ import org.jetbrains.annotations.Nullable;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
-import java.util.Arrays;
-import java.util.Set;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 /**
  * An abstract class that allows creating serializers for text components.
  */
 public abstract class ComponentConverter {
 
+    private static final String[] PLATFORM_CONVERTERS = {"Adventure", "Bungee", "LegacyBungee"};
+    private static volatile @Nullable ComponentConverter converter;
+    private final @NotNull ConvertMethods convertMethods = ConvertMethods.of(getClass());
+    private final @NotNull Map<Class<?>, Function<Component, ?>> registeredConverters = new ConcurrentHashMap<>();
+
+    /**
+     * Gets the converter used to send components.
+     * The first time, it is looked up using {@link #findConverter()}, then the same instance is always returned.
+     *
+     * @return the component serializer
+     */
+    public static @NotNull ComponentConverter converter() {
+        ComponentConverter converter = ComponentConverter.converter;
+        if (converter == null)
+            synchronized (ComponentConverter.class) {
+                converter = ComponentConverter.converter;
+                if (converter == null) ComponentConverter.converter = converter = findConverter();
+            }
+        return converter;
+    }
+
     /**
-     * A method to get the first valid ComponentConverter from the current package.
-     * It tries to instantiate every class that is not {@link CharCodeConverter},
-     * {@link AmpersandConverter} or {@link SectionSignConverter}.
+     * Sets the converter returned by {@link #converter()}.
+     * If null, it will be looked up again on the next call.
+     *
+     * @param converter the converter
+     */
+    public static void setConverter(final @Nullable ComponentConverter converter) {
+        ComponentConverter.converter = converter;
+    }
+
+    /**
+     * A method to find the first valid ComponentConverter.
+     * First, it checks every {@link ConverterProvider} available through {@link ServiceLoader}.
+     * Then, it tries to instantiate the converters of the supported platforms, in the order:
+     * Adventure, Bungee and LegacyBungee.
      * If it fails with every class, return a new {@link SectionSignConverter};
      *
      * @return the component serializer
      */
     @SuppressWarnings("unchecked")
-    public static @NotNull ComponentConverter converter() {
-        Set<String> classes = getClassesInPackage();
-        for (String className : classes) {
+    static @NotNull ComponentConverter findConverter() {
+        final List<ConverterProvider> providers = new ArrayList<>();
+        ServiceLoader.load(ConverterProvider.class, ComponentConverter.class.getClassLoader()).forEach(providers::add);
+        providers.sort(Comparator.comparingInt(ConverterProvider::getPriority).reversed()
+                .thenComparing(p -> p.getClass().getName()));
+        for (ConverterProvider provider : providers) {
+            ComponentConverter converter = provider.createConverter();
+            if (converter != null) return converter;
+        }
+
+        for (String className : getClassesInPackage()) {
             try {
                 Class<?> clazz = Class.forName(className);
                 Constructor<? extends ComponentConverter> constructor = (Constructor<? extends ComponentConverter>) clazz.getConstructor();
@@ -42,14 +80,15 @@ public abstract class ComponentConverter {
     }
 
     /**
-     * Gets all the available serializers of the library.
+     * Gets all the available serializers of the library, in order of preference.
      *
      * @return the serializers names to prevent load errors
      */
-    static @NotNull Set<String> getClassesInPackage() {
-        return Stream.of("Adventure", "Bungee", "LegacyBungee")
-                .map(c -> ComponentConverter.class.getPackage().getName() + "." + c + "Converter")
-                .collect(Collectors.toSet());
+    static @NotNull List<String> getClassesInPackage() {
+        final List<String> classes = new ArrayList<>();
+        for (String converter : PLATFORM_CONVERTERS)
+            classes.add(ComponentConverter.class.getPackage().getName() + "." + converter + "Converter");
+        return classes;
     }
 
     /**
@@ -70,6 +109,15 @@ public abstract class ComponentConverter {
         return new AmpersandConverter();
     }
 
+    /**
+     * Get a new JSON serializer.
+     *
+     * @return the JSON serializer
+     */
+    public static @NotNull JsonConverter json() {
+        return new JsonConverter();
+    }
+
     /**
      * Convert a general {@link Component} and its siblings.
      *
@@ -81,22 +129,72 @@ public abstract class ComponentConverter {
     public <T> @Nullable T convertComponent(@Nullable Component component) {
         if (component == null) return null;
 
-        Method method = findConvertMethod(component);
-        T output;
-        try {
-            output = (T) method.invoke(this, component);
-        } catch (IllegalAccessException | InvocationTargetException e) {
-            Throwable cause = e.getCause();
-            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
-            else throw new RuntimeException(cause);
-        }
-
-        if (component.getNext() != null)
-            output = sumTwoConvertedComponents(output, convertComponent(component.getNext()));
+        final List<T> converted = new ArrayList<>();
+        for (Component current = component; current != null; current = current.getNext())
+            converted.add((T) convertSingle(current));
 
+        // Sum from the last component, so that the result is first + (second + (... + last))
+        T output = converted.get(converted.size() - 1);
+        for (int i = converted.size() - 2; i >= 0; i--)
+            output = sumTwoConvertedComponents(converted.get(i), output);
         return output;
     }
 
+    /**
+     * Convert a general {@link Component}, ignoring its siblings.
+     *
+     * @param component the component
+     * @return the output
+     */
+    protected @Nullable Object convertSingle(final @NotNull Component component) {
+        final Function<Component, ?> converter = getRegisteredConverter(component);
+        if (converter != null) return converter.apply(component);
+        return this.convertMethods.convert(this, component);
+    }
+
+    /**
+     * Gets the convert methods of this converter.
+     *
+     * @return the convert methods
+     */
+    @NotNull ConvertMethods getConvertMethods() {
+        return this.convertMethods;
+    }
+
+    /**
+     * Gets the function registered to convert the given component, if any.
+     *
+     * @param component the component
+     * @return the function, or null if none was registered
+     */
+    @Nullable Function<Component, ?> getRegisteredConverter(final @NotNull Component component) {
+        if (this.registeredConverters.isEmpty()) return null;
+        return this.registeredConverters.get(component.getClass());
+    }
+
+    /**
+     * Registers a function to convert the components of the given class.
+     * It takes precedence over the convert methods of this converter.
+     *
+     * @param <C>            the type of the component
+     * @param componentClass the class of the component
+     * @param converter      the function
+     */
+    @SuppressWarnings("unchecked")
+    public <C extends Component> void registerConverter(final @NotNull Class<C> componentClass,
+                                                         final @NotNull Function<? super C, ?> converter) {
+        this.registeredConverters.put(componentClass, (Function<Component, ?>) converter);
+    }
+
+    /**
+     * Removes the function registered to convert the components of the given class.
+     *
+     * @param componentClass the class of the component
+     */
+    public void unregisterConverter(final @NotNull Class<? extends Component> componentClass) {
+        this.registeredConverters.remove(componentClass);
+    }
+
     /**
      * Convert a {@link Component}.
      *
@@ -254,6 +352,28 @@ public abstract class ComponentConverter {
         send(player, object);
     }
 
+    /**
+     * Send to all the given players.
+     * The component is converted only once, and the same output is sent to every player.
+     *
+     * @param <P>       the type of the players
+     * @param players   the players
+     * @param component the component
+     */
+    public <P> void broadcast(@Nullable Iterable<P> players, @Nullable Component component) {
+        if (players == null) return;
+        if (component == null) return;
+        Object object = null;
+        for (P player : players) {
+            if (player == null) continue;
+            if (object == null) {
+                object = convertComponent(component);
+                if (object == null) return;
+            }
+            send(player, object);
+        }
+    }
+
     /**
      * Send to player.
      *
@@ -264,29 +384,4 @@ public abstract class ComponentConverter {
      */
     public abstract <T, P> void send(P player, T component);
 
-    private @NotNull Method findConvertMethod(@NotNull Component component) {
-        Class<?> tmp = this.getClass();
-        while (tmp != null) {
-            Method method = Stream.concat(Arrays.stream(tmp.getDeclaredMethods()), Arrays.stream(tmp.getMethods()))
-                    .filter(m -> m.getName().startsWith("convert"))
-                    .filter(m -> m.getParameterCount() == 1)
-                    .filter(m -> m.getParameterTypes()[0].equals(component.getClass()))
-                    .findFirst().orElse(null);
-            if (method != null) {
-                method.setAccessible(true);
-                return method;
-            }
-            tmp = tmp.getSuperclass();
-        }
-        try {
-            if (component instanceof CustomComponent)
-                return ComponentConverter.class.getMethod("convertCustomComponent", CustomComponent.class);
-            else if (component instanceof CustomContainerComponent)
-                return ComponentConverter.class.getMethod("convertCustomContainerComponent", CustomContainerComponent.class);
-            else return ComponentConverter.class.getMethod("convertSimpleComponent", Component.class);
-        } catch (NoSuchMethodException e) {
-            throw new RuntimeException(e);
-        }
-    }
-
 }
\ No newline at end of file
@@ -0,0 +1,124 @@
+package it.fulminazzo.amplitude.converter;
+
+import it.fulminazzo.amplitude.component.Component;
+import it.fulminazzo.amplitude.component.CustomComponent;
+import it.fulminazzo.amplitude.component.CustomContainerComponent;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * The convert methods of a {@link ComponentConverter} class, associated with the {@link Component} classes they convert.
+ * A convert method is any method starting with "convert" that accepts exactly the class of the component
+ * (except for {@link ComponentConverter#convertComponent(Component)} and {@link ComponentConverter#convertSingle(Component)}).
+ * If none is found, {@link ComponentConverter#convertCustomComponent(CustomComponent)},
+ * {@link ComponentConverter#convertCustomContainerComponent(CustomContainerComponent)}
+ * or {@link ComponentConverter#convertSimpleComponent(Component)} is used.
+ * <p>
+ * Methods are looked up only once per converter class and component class, and then invoked using {@link MethodHandle}s.
+ */
+final class ConvertMethods {
+    private static final MethodType CONVERT_TYPE = MethodType.methodType(Object.class, ComponentConverter.class, Component.class);
+    private static final ClassValue<ConvertMethods> CONVERT_METHODS = new ClassValue<ConvertMethods>() {
+
+        @Override
+        protected ConvertMethods computeValue(final @NotNull Class<?> type) {
+            return new ConvertMethods(type);
+        }
+
+    };
+
+    private final @NotNull Class<?> converterClass;
+    private final @NotNull Map<Class<?>, Method> methods;
+    private final @NotNull Map<Class<?>, MethodHandle> handles;
+
+    private ConvertMethods(final @NotNull Class<?> converterClass) {
+        this.converterClass = converterClass;
+        this.methods = new ConcurrentHashMap<>();
+        this.handles = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Converts the given component using the associated convert method.
+     *
+     * @param converter the converter
+     * @param component the component
+     * @return the output
+     */
+    public Object convert(final @NotNull ComponentConverter converter, final @NotNull Component component) {
+        final MethodHandle handle = this.handles.computeIfAbsent(component.getClass(), this::findConvertMethod);
+        try {
+            return (Object) handle.invokeExact(converter, component);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Gets the class declaring the convert method associated with the given component class.
+     * Inherited methods are reported with the class that declares them.
+     *
+     * @param componentClass the class of the component
+     * @return the declaring class
+     */
+    public @NotNull Class<?> getDeclaringClass(final @NotNull Class<?> componentClass) {
+        return getMethod(componentClass).getDeclaringClass();
+    }
+
+    private @NotNull Method getMethod(final @NotNull Class<?> componentClass) {
+        return this.methods.computeIfAbsent(componentClass, this::findMethod);
+    }
+
+    private @NotNull MethodHandle findConvertMethod(final @NotNull Class<?> componentClass) {
+        try {
+            return MethodHandles.lookup().unreflect(getMethod(componentClass)).asType(CONVERT_TYPE);
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private @NotNull Method findMethod(final @NotNull Class<?> componentClass) {
+        Class<?> tmp = this.converterClass;
+        while (tmp != null) {
+            Method method = Stream.concat(Stream.of(tmp.getDeclaredMethods()), Stream.of(tmp.getMethods()))
+                    .filter(m -> m.getName().startsWith("convert"))
+                    .filter(m -> !m.getName().equals("convertComponent") && !m.getName().equals("convertSingle"))
+                    .filter(m -> m.getParameterCount() == 1)
+                    .filter(m -> m.getParameterTypes()[0].equals(componentClass))
+                    .findFirst().orElse(null);
+            if (method != null) {
+                method.setAccessible(true);
+                return method;
+            }
+            tmp = tmp.getSuperclass();
+        }
+        try {
+            if (CustomComponent.class.isAssignableFrom(componentClass))
+                return ComponentConverter.class.getMethod("convertCustomComponent", CustomComponent.class);
+            else if (CustomContainerComponent.class.isAssignableFrom(componentClass))
+                return ComponentConverter.class.getMethod("convertCustomContainerComponent", CustomContainerComponent.class);
+            else return ComponentConverter.class.getMethod("convertSimpleComponent", Component.class);
+        } catch (NoSuchMethodException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Gets the convert methods of the given converter class.
+     *
+     * @param type the class of the converter
+     * @return the convert methods
+     */
+    public static @NotNull ConvertMethods of(final @NotNull Class<? extends ComponentConverter> type) {
+        return CONVERT_METHODS.get(type);
+    }
+
+}
@@ -0,0 +1,33 @@
+package it.fulminazzo.amplitude.converter;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ServiceLoader;
+
+/**
+ * A service that provides the {@link ComponentConverter} returned by {@link ComponentConverter#converter()}.
+ * Providers are found using {@link ServiceLoader}, so they have to be listed in
+ * <i>META-INF/services/it.fulminazzo.amplitude.converter.ConverterProvider</i>.
+ * <p>
+ * Providers are checked from the highest priority to the lowest (and then by class name),
+ * and they always take precedence over the converters detected from the platform.
+ */
+public interface ConverterProvider {
+
+    /**
+     * Creates the converter.
+     *
+     * @return the converter, or null if it is not available on the current platform
+     */
+    @Nullable ComponentConverter createConverter();
+
+    /**
+     * Gets the priority of this provider.
+     *
+     * @return the priority
+     */
+    default int getPriority() {
+        return 0;
+    }
+
+}
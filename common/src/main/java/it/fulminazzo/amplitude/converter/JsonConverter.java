@@ -0,0 +1,358 @@
+package it.fulminazzo.amplitude.converter;
+
+import com.google.gson.stream.JsonWriter;
+import it.fulminazzo.amplitude.component.*;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * An implementation of {@link ComponentConverter} that converts components to the vanilla Minecraft chat JSON.
+ * <p>
+ * For example:
+ * <p>
+ * "&#60;red&#62;Hello &#60;click action=RUN_COMMAND command=\"/spawn\"&#62;friend!&#60;/click&#62;"
+ * =&#62; {"text":"","extra":[{"text":"Hello ","color":"red"},{"text":"friend!","color":"red","clickEvent":{"action":"run_command","value":"/spawn"}}]}
+ * <p>
+ * Components are written directly to a {@link JsonWriter} (see {@link #write(Component, JsonWriter)}),
+ * without creating any intermediate object.
+ * Siblings are added to the "extra" of a single empty root, so every one of them only keeps its own style and events.
+ * Hover events use the "contents" format of Minecraft 1.16 and above.
+ * <p>
+ * Functions registered with {@link #registerConverter(Class, Function)} are expected to return valid JSON.
+ */
+@SuppressWarnings("unchecked")
+public class JsonConverter extends ComponentConverter {
+
+    /**
+     * Converts the given component and its siblings, writing the resulting JSON to the given writer.
+     *
+     * @param <W>       the type of the writer
+     * @param component the component
+     * @param writer    the writer
+     * @return the writer
+     */
+    public <W extends Writer> @NotNull W convertTo(final @Nullable Component component, final @NotNull W writer) {
+        try {
+            final JsonWriter jsonWriter = new JsonWriter(writer);
+            write(component, jsonWriter);
+            jsonWriter.flush();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        return writer;
+    }
+
+    /**
+     * Writes the given component and its siblings as a JSON value of the given writer.
+     * This allows embedding components in bigger JSON documents.
+     *
+     * @param component the component
+     * @param writer    the writer
+     * @throws IOException if the writer fails
+     */
+    public void write(final @Nullable Component component, final @NotNull JsonWriter writer) throws IOException {
+        if (component == null) writer.beginObject().name("text").value("").endObject();
+        else if (component.getNext() == null) writeSingle(component, writer);
+        else {
+            writer.beginObject().name("text").value("").name("extra").beginArray();
+            for (Component current = component; current != null; current = current.getNext())
+                writeSingle(current, writer);
+            writer.endArray().endObject();
+        }
+    }
+
+    private void writeSingle(final @NotNull Component component, final @NotNull JsonWriter writer) throws IOException {
+        final Function<Component, ?> converter = getRegisteredConverter(component);
+        if (converter != null) writer.jsonValue(String.valueOf(converter.apply(component)));
+        else if (component instanceof HoverComponent) {
+            final HoverComponent hoverComponent = (HoverComponent) component;
+            final Component child = writeChild(hoverComponent.getChild(), writer);
+            writeHoverEvent(hoverComponent, writer);
+            writeExtra(child, writer);
+        } else if (component instanceof ClickComponent) {
+            final ClickComponent clickComponent = (ClickComponent) component;
+            final Component child = writeChild(clickComponent.getChild(), writer);
+            writeClickEvent(clickComponent, writer);
+            writeExtra(child, writer);
+        } else if (component instanceof InsertionComponent) {
+            final InsertionComponent insertionComponent = (InsertionComponent) component;
+            final Component child = writeChild(insertionComponent.getChild(), writer);
+            writer.name("insertion").value(insertionComponent.getInsertionText());
+            writeExtra(child, writer);
+        } else if (component instanceof TranslatableComponent) writeTranslatable((TranslatableComponent) component, writer);
+        else if (component instanceof CustomComponent) write(((CustomComponent<?>) component).toMinecraft(), writer);
+        else if (component instanceof CustomContainerComponent)
+            write(((CustomContainerComponent<?>) component).toMinecraft(), writer);
+        else {
+            writer.beginObject();
+            writeText(component, writer);
+            writer.endObject();
+        }
+    }
+
+    /**
+     * Begins the object of a container component.
+     * If the child is a single simple component, its text and style are written directly in the object.
+     * Otherwise, the text is left empty and the child is returned, so that it can be written as "extra".
+     *
+     * @param child  the child of the container
+     * @param writer the writer
+     * @return the child to write with {@link #writeExtra(Component, JsonWriter)}, if any
+     * @throws IOException if the writer fails
+     */
+    private @Nullable Component writeChild(final @Nullable Component child, final @NotNull JsonWriter writer) throws IOException {
+        writer.beginObject();
+        if (child != null && child.getNext() == null && isSimple(child)) {
+            writeText(child, writer);
+            return null;
+        }
+        writer.name("text").value("");
+        return child;
+    }
+
+    private void writeExtra(final @Nullable Component child, final @NotNull JsonWriter writer) throws IOException {
+        if (child != null) {
+            writer.name("extra").beginArray();
+            for (Component current = child; current != null; current = current.getNext())
+                writeSingle(current, writer);
+            writer.endArray();
+        }
+        writer.endObject();
+    }
+
+    private boolean isSimple(final @NotNull Component component) {
+        if (getRegisteredConverter(component) != null) return false;
+        final Class<?> clazz = component.getClass();
+        return clazz.equals(Component.class) || clazz.equals(HexComponent.class) || clazz.equals(FontComponent.class);
+    }
+
+    private void writeText(final @NotNull Component component, final @NotNull JsonWriter writer) throws IOException {
+        final String text = component.getText();
+        writer.name("text").value(text == null ? "" : text);
+        writeStyle(component, writer);
+    }
+
+    private void writeStyle(final @NotNull Component component, final @NotNull JsonWriter writer) throws IOException {
+        if (component.isReset()) {
+            writer.name("color").value(getColor(Color.WHITE));
+            writer.name("font").value(getFont(Font.DEFAULT));
+            for (Style style : Style.values())
+                if (style != Style.RESET) writer.name(style.getName()).value(false);
+            return;
+        }
+        final Color color = component.getColor();
+        if (color != null) writer.name("color").value(getColor(color));
+        final Font font = component.getFont();
+        if (font != null) writer.name("font").value(getFont(font));
+        for (Style style : component.getStyles()) {
+            final Boolean value = component.getStyle(style);
+            if (value != null) writer.name(style.getName()).value(value);
+        }
+    }
+
+    private void writeTranslatable(final @NotNull TranslatableComponent component, final @NotNull JsonWriter writer) throws IOException {
+        // The key is written without the style inherited by its components
+        final StringBuilder key = new StringBuilder();
+        for (Component child = component.getChild(); child != null; child = child.getNext())
+            if (child.getText() != null) key.append(child.getText());
+        writer.beginObject().name("translate").value(key.toString());
+        writeStyle(component, writer);
+        final List<Component> arguments = component.getArguments();
+        if (arguments != null && !arguments.isEmpty()) {
+            writer.name("with").beginArray();
+            for (Component argument : arguments) write(argument, writer);
+            writer.endArray();
+        }
+        writer.endObject();
+    }
+
+    private void writeClickEvent(final @NotNull ClickComponent component, final @NotNull JsonWriter writer) throws IOException {
+        final ClickAction clickAction = ClickAction.valueOf(component.getTagOption("action").toUpperCase());
+        final String requiredOption = new ArrayList<>(clickAction.getRequiredOptions().keySet()).get(0);
+        writer.name("clickEvent").beginObject()
+                .name("action").value(clickAction.name().toLowerCase())
+                .name("value").value(component.getTagOption(requiredOption))
+                .endObject();
+    }
+
+    private void writeHoverEvent(final @NotNull HoverComponent component, final @NotNull JsonWriter writer) throws IOException {
+        final HoverAction hoverAction = HoverAction.valueOf(component.getTagOption("action").toUpperCase());
+        writer.name("hoverEvent").beginObject().name("action").value(hoverAction.name().toLowerCase());
+        switch (hoverAction) {
+            case SHOW_ITEM: {
+                String count = component.getTagOption("Count");
+                count = count.substring(0, count.length() - 1);
+                String rawTag = component.getTagOption("Tag");
+                if (rawTag == null || rawTag.isEmpty()) rawTag = component.getTagOption("tag");
+                writer.name("contents").beginObject()
+                        .name("id").value(component.getTagOption("id"))
+                        .name("count").value(Integer.parseInt(count));
+                if (rawTag != null && !rawTag.isEmpty()) writer.name("tag").value(rawTag);
+                writer.endObject();
+                break;
+            }
+            case SHOW_ENTITY: {
+                writer.name("contents").beginObject()
+                        .name("type").value(component.getTagOption("type"))
+                        .name("id").value(component.getTagOption("id"))
+                        .name("name").beginObject().name("text").value(component.getTagOption("name")).endObject()
+                        .endObject();
+                break;
+            }
+            case SHOW_ACHIEVEMENT: {
+                String id = component.getTagOption("id");
+                if (!id.startsWith("achievement.")) id = "achievement." + id;
+                writer.name("value").value(id);
+                break;
+            }
+            default: {
+                writer.name("contents");
+                write(component.getTagOptionComponent("text"), writer);
+            }
+        }
+        writer.endObject();
+    }
+
+    private @NotNull String getColor(final @NotNull Color color) {
+        return color.isCustom() ? color.getCode().toUpperCase() : color.name().toLowerCase();
+    }
+
+    private @NotNull String getFont(final @NotNull Font font) {
+        return font.name().toLowerCase();
+    }
+
+    private @Nullable String toJson(final @Nullable Component component, final boolean single) {
+        if (component == null) return null;
+        try {
+            final StringWriter stringWriter = new StringWriter();
+            final JsonWriter writer = new JsonWriter(stringWriter);
+            if (single) writeSingle(component, writer);
+            else write(component, writer);
+            writer.flush();
+            return stringWriter.toString();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public <T> @Nullable T convertComponent(final @Nullable Component component) {
+        return (T) toJson(component, false);
+    }
+
+    @Override
+    protected @Nullable Object convertSingle(final @NotNull Component component) {
+        return toJson(component, true);
+    }
+
+    @Override
+    public @Nullable String convertSimpleComponent(final @Nullable Component component) {
+        if (component == null) return null;
+        try {
+            final StringWriter stringWriter = new StringWriter();
+            final JsonWriter writer = new JsonWriter(stringWriter);
+            writer.beginObject();
+            writeText(component, writer);
+            writer.endObject().flush();
+            return stringWriter.toString();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public @Nullable String convertHoverComponent(final @Nullable HoverComponent component) {
+        return toJson(component, true);
+    }
+
+    @Override
+    public @Nullable String convertClickComponent(final @Nullable ClickComponent component) {
+        return toJson(component, true);
+    }
+
+    @Override
+    public @Nullable String convertHexComponent(final @Nullable HexComponent component) {
+        return convertSimpleComponent(component);
+    }
+
+    @Override
+    public @Nullable String convertInsertionComponent(final @Nullable InsertionComponent component) {
+        return toJson(component, true);
+    }
+
+    @Override
+    public @Nullable String convertFontComponent(final @Nullable FontComponent component) {
+        return convertSimpleComponent(component);
+    }
+
+    @Override
+    public @Nullable String convertTranslateComponent(final @Nullable TranslatableComponent component) {
+        return toJson(component, true);
+    }
+
+    @Override
+    public <T> @Nullable T sumTwoConvertedComponents(final @Nullable T component1, final @Nullable T component2) {
+        if (component1 == null) return component2;
+        if (component2 == null) return component1;
+        return (T) String.format("{\"text\":\"\",\"extra\":[%s,%s]}", component1, component2);
+    }
+
+    @Override
+    public <T> @Nullable T applyColor(final @Nullable T component, final @NotNull Color color) {
+        return setProperty(component, "color", getColor(color));
+    }
+
+    @Override
+    public <T> @Nullable T applyStyle(final @Nullable T component, final @NotNull Style style, final @Nullable Boolean value) {
+        if (value == null) return component;
+        return setProperty(component, style.getName(), value);
+    }
+
+    @Override
+    public <T> @Nullable T applyFont(final @Nullable T component, final @NotNull Font font) {
+        return setProperty(component, "font", getFont(font));
+    }
+
+    /**
+     * Adds the given property at the end of the given JSON object.
+     * Since the last property wins, this overrides any previous value.
+     *
+     * @param <T>       the type of the component
+     * @param component the JSON object
+     * @param name      the name of the property
+     * @param value     the value of the property
+     * @return the resulting JSON object
+     */
+    private <T> @Nullable T setProperty(final @Nullable T component, final @NotNull String name, final @NotNull Object value) {
+        if (component == null) return null;
+        final String json = component.toString().trim();
+        if (!json.endsWith("}")) return component;
+        try {
+            final StringWriter stringWriter = new StringWriter();
+            final JsonWriter writer = new JsonWriter(stringWriter);
+            writer.beginObject().name(name);
+            if (value instanceof Boolean) writer.value((Boolean) value);
+            else writer.value(value.toString());
+            writer.endObject().flush();
+            final String property = stringWriter.toString();
+            final String body = json.substring(0, json.length() - 1);
+            final String separator = body.trim().equals("{") ? "" : ",";
+            return (T) (body + separator + property.substring(1));
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public <T, P> void send(P player, T component) {
+        throw new RuntimeException("Not implemented.");
+    }
+
+}
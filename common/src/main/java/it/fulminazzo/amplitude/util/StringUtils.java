@@ -5,8 +5,8 @@ import lombok.NoArgsConstructor;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.LinkedList;
-import java.util.regex.Matcher;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.regex.Pattern;
 
 /**
@@ -19,13 +19,28 @@ public final class StringUtils {
 
     /**
      * Split a string using the given separator, ignoring it if it is contained inside quotes.
+     * As {@link String#split(String)}, trailing empty strings are not included.
      *
      * @param string    the string
      * @param separator the separator
      * @return the result of the split
      */
     public static @Nullable String[] splitQuoteSensitive(@Nullable String string, char separator) {
-        return splitQuoteSensitive(string, separator + "");
+        if (string == null) return null;
+        final List<String> split = new ArrayList<>();
+        int start = 0;
+        int end = indexOfQuoteSensitive(string, separator, 0);
+        if (end == -1) return new String[]{string};
+        while (end != -1) {
+            split.add(string.substring(start, end));
+            start = end + 1;
+            end = indexOfQuoteSensitive(string, separator, start);
+        }
+        split.add(string.substring(start));
+
+        int size = split.size();
+        while (size > 0 && split.get(size - 1).isEmpty()) size--;
+        return split.subList(0, size).toArray(new String[0]);
     }
 
     /**
@@ -37,31 +52,73 @@ public final class StringUtils {
      */
     public static @Nullable String[] splitQuoteSensitive(@Nullable String string, @NotNull String regex) {
         if (string == null) return null;
-        final String placeholder = String.valueOf((char) 22);
+        final char placeholder = (char) 22;
 
-        LinkedList<String> quoted = new LinkedList<>();
-        Matcher matcher = QUOTE_PATTERN.matcher(string);
-        while (matcher.find()) {
-            quoted.add(matcher.group());
-            string = string.substring(0, matcher.start()) + placeholder + string.substring(matcher.end());
-            matcher = QUOTE_PATTERN.matcher(string);
+        // Replace every quoted section with the placeholder
+        final List<String> quoted = new ArrayList<>();
+        final StringBuilder masked = new StringBuilder(string.length());
+        int last = 0;
+        for (int i = 0; i < string.length(); i++) {
+            final int end = findQuoteEnd(string, i);
+            if (end == -1) continue;
+            quoted.add(string.substring(i, end));
+            masked.append(string, last, i).append(placeholder);
+            last = end;
+            i = end - 1;
         }
+        if (quoted.isEmpty()) return string.split(regex);
+        masked.append(string, last, string.length());
 
-        final String[] split = string.split(regex);
-        final Pattern placeholderPattern = Pattern.compile(placeholder, Pattern.DOTALL);
+        // Restore the quoted sections, in order
+        final String[] split = masked.toString().split(regex);
+        int next = 0;
         for (int i = 0; i < split.length; i++) {
-            String s = split[i];
-            matcher = placeholderPattern.matcher(s);
-            while (matcher.find()) {
-                s = s.substring(0, matcher.start()) + quoted.pop() + s.substring(matcher.end());
-                matcher = placeholderPattern.matcher(s);
+            final String s = split[i];
+            if (s.indexOf(placeholder) == -1) continue;
+            final StringBuilder builder = new StringBuilder();
+            for (int j = 0; j < s.length(); j++) {
+                final char c = s.charAt(j);
+                if (c == placeholder) builder.append(quoted.get(next++));
+                else builder.append(c);
             }
-            split[i] = s;
+            split[i] = builder.toString();
         }
-
         return split;
     }
 
+    /**
+     * Finds the first occurrence of the given separator, ignoring it if it is contained inside quotes.
+     * The search starts from the given index, which should not be inside quotes.
+     *
+     * @param string    the string
+     * @param separator the separator
+     * @param from      the index to start from
+     * @return the index of the separator, or -1 if not found
+     */
+    public static int indexOfQuoteSensitive(final @NotNull String string, final char separator, final int from) {
+        for (int i = from; i < string.length(); i++) {
+            final int end = findQuoteEnd(string, i);
+            if (end != -1) i = end - 1;
+            else if (string.charAt(i) == separator) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Checks if a quoted section (using <i>"</i> or <i>'</i>) starts at the given index,
+     * as matched by {@link #QUOTE_PATTERN}.
+     *
+     * @param string the string
+     * @param start  the index
+     * @return the index after the closing quote, or -1 if no quoted section starts at the index
+     */
+    private static int findQuoteEnd(final @NotNull String string, final int start) {
+        final char c = string.charAt(start);
+        if (c != '"' && c != '\'') return -1;
+        final int end = string.indexOf(c, start + 1);
+        return end == -1 ? -1 : end + 1;
+    }
+
     /**
      * A function that removes quotes from strings.
      * For example, <i>"text"</i> will be converted to <i>text</i>.
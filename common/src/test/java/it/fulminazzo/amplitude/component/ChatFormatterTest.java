@@ -52,4 +52,62 @@ class ChatFormatterTest {
     void testNotExistingChatFormatterCharacter() {
         assertNull(ChatFormatter.getChatFormatter('z'));
     }
-}
\ No newline at end of file
+
+    @ParameterizedTest
+    @CsvSource({
+            "DARK_RED,dark_red",
+            "DARK_RED,DARKRED",
+            "LIGHT_PURPLE,light_Purple",
+            "BOLD,!bold",
+            "UNDERLINED,!UNDERLINED",
+            "ITALIC,I"
+    })
+    void testGetFormatterFromAlternativeName(String expected, String name) {
+        ChatFormatter formatter = ChatFormatter.getChatFormatter(name);
+        assertEquals(expected, formatter == null ? null : formatter.name());
+    }
+
+    @ParameterizedTest
+    @CsvSource({"DARK_red", "!reset", "!red", "!"})
+    void testNotExistingAlternativeName(String name) {
+        assertNull(ChatFormatter.getChatFormatter(name));
+    }
+
+    @ParameterizedTest
+    @MethodSource("it.fulminazzo.amplitude.component.Color#values")
+    void testColorValueOf(Color color) {
+        assertEquals(color, Color.valueOf(color.name()));
+        assertEquals(color, Color.valueOf(color.name().toLowerCase()));
+        assertEquals(color, Color.valueOf(Character.toUpperCase(color.getIdentifierChar())));
+    }
+
+    @Test
+    void testCustomColorName() {
+        Color color = new Color("#FF00AA");
+        assertEquals("CUSTOM", color.name());
+        assertEquals("custom", color.getName());
+    }
+
+    private static Object[][] getReplaceFormatsTests() {
+        return new Object[][]{
+                new Object[]{"&cHello §lworld", "<red>Hello <bold>world"},
+                new Object[]{"&&cHello", "&<red>Hello"},
+                new Object[]{"&CHello &zworld", "&CHello &zworld"},
+                new Object[]{"<hover text=\"&cHi\">&aHello", "<hover text=\"&cHi\"><green>Hello"},
+                new Object[]{"'&c' &c\"", "'&c' <red>\""},
+                new Object[]{"&x&F&F&0&0&a&aHello", "<hex color=#FF00aa>Hello"},
+                new Object[]{"&x§1§2§3§4§5§6Hello", "<hex color=#123456>Hello"},
+                new Object[]{"&x&F&F&0&0&AHello", "&x&F&F<black><black>&AHello"},
+                new Object[]{"Hello&c", "Hello"},
+                new Object[]{"Hello&c&l", "Hello"},
+                new Object[]{"Hello&l&c", "Hello<bold>"},
+                new Object[]{"&c", ""}
+        };
+    }
+
+    @ParameterizedTest
+    @MethodSource("getReplaceFormatsTests")
+    void testReplaceFormats(String from, String expected) {
+        assertEquals(expected, ChatFormatter.replaceFormats(from));
+    }
+}
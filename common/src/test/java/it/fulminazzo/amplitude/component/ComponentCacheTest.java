@@ -0,0 +1,90 @@
+package it.fulminazzo.amplitude.component;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ComponentCacheTest {
+
+    @AfterEach
+    void tearDown() {
+        Component.setCache(null);
+    }
+
+    @Test
+    void testHitsAndMisses() {
+        ComponentCache cache = new ComponentCache();
+        Component.setCache(cache);
+
+        Component first = Component.fromRaw("<red>Hello <bold>world");
+        Component second = Component.fromRaw("<red>Hello <bold>world");
+
+        assertEquals(first, second);
+        assertEquals(1, cache.getMisses());
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void testCachedComponentsAreCopies() {
+        Component.setCache(new ComponentCache());
+
+        Component first = Component.fromRaw("<hover action=SHOW_TEXT text=\"Hi\"><red>Hello</hover> world");
+        first.setColor(Color.GREEN).setText("Changed");
+        first.addNext("Another");
+
+        Component second = Component.fromRaw("<hover action=SHOW_TEXT text=\"Hi\"><red>Hello</hover> world");
+        assertEquals(Component.fromRaw("<hover action=SHOW_TEXT text=\"Hi\"><red>Hello</hover> world"), second);
+        assertNotEquals(first, second);
+    }
+
+    @Test
+    void testEviction() {
+        ComponentCache cache = new ComponentCache(2);
+        Component.setCache(cache);
+
+        Component.fromRaw("First");
+        Component.fromRaw("Second");
+        Component.fromRaw("First");
+        Component.fromRaw("Third");
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictions());
+
+        // "Second" was the least recently used
+        Component.fromRaw("Second");
+        assertEquals(4, cache.getMisses());
+        assertEquals(1, cache.getHits());
+    }
+
+    @Test
+    void testInternalParsingDoesNotUseCache() {
+        ComponentCache cache = new ComponentCache();
+        Component.setCache(cache);
+
+        new Component("Hello").addNext("<red>world");
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testClear() {
+        ComponentCache cache = new ComponentCache();
+        Component.setCache(cache);
+
+        Component.fromRaw("Hello");
+        Component.fromRaw("Hello");
+        cache.clear();
+
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getHits());
+        assertEquals(0, cache.getMisses());
+    }
+
+    @Test
+    void testInvalidMaximumSize() {
+        assertThrows(IllegalArgumentException.class, () -> new ComponentCache(0));
+    }
+
+}
@@ -0,0 +1,153 @@
+package it.fulminazzo.amplitude.component;
+
+import it.fulminazzo.amplitude.RoseFluoComponent;
+import it.fulminazzo.amplitude.converter.ComponentConverter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ComponentCodecTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "Hello world",
+            "<red>Hello <bold>world<reset> plain",
+            "<italic><!bold>Hello <dark_purple><underlined>world",
+            "<hex color=#ff00aa>Hello <green>world",
+            "<font id=ALT>Hello <font id=DEFAULT>world",
+            "<click action=RUN_COMMAND command=\"say hi\"><red>Click <bold>me</click> now",
+            "<hover action=SHOW_TEXT text=\"Hello friend\">Hello <click action=COPY_TO_CLIPBOARD text=\"Nested\">world</click></hover>",
+            "<hover action=SHOW_ITEM id=minecraft:stone_sword Count=1b>Item</hover>",
+            "<insertion text=\"Hi\">Insert</insertion>",
+            "<red>Give <translatable arguments=\"<blue>Diamond Sword&1&'Alex & friends'\">commands.give.success.single</translatable>",
+            "Unicode: è ❤ 😀",
+    })
+    void testRoundTrip(String rawText) {
+        Component component = Component.fromRaw(rawText);
+        Component decoded = ComponentCodec.decode(ComponentCodec.encode(component));
+        assertSameComponent(component, decoded);
+    }
+
+    @Test
+    void testRoundTripCustomComponent() {
+        Component component = new RoseFluoComponent("<rose>Hello</rose> world");
+        Component decoded = ComponentCodec.decode(ComponentCodec.encode(component));
+        assertInstanceOf(RoseFluoComponent.class, decoded);
+        assertSameComponent(component, decoded);
+    }
+
+    @Test
+    void testRoundTripDataStream() throws IOException {
+        Component component = Component.fromRaw("<red>Hello <click action=RUN_COMMAND command=\"say hi\">world</click>");
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(bytes);
+        ComponentCodec.write(component, output);
+        output.writeUTF("after");
+
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        assertSameComponent(component, ComponentCodec.read(input));
+        assertEquals("after", input.readUTF());
+    }
+
+    @Test
+    void testRoundTripDataStreamLongText() throws IOException {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 3000; i++) text.append("Hello ").append(i);
+        Component component = Component.fromRaw("<red>" + text);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ComponentCodec.write(component, new DataOutputStream(bytes));
+
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        assertSameComponent(component, ComponentCodec.read(input));
+    }
+
+    @Test
+    void testRoundTripByteBuffer() {
+        Component component = Component.fromRaw("<red>Hello <bold>world");
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        buffer.putInt(42);
+        ComponentCodec.encode(component, buffer);
+        buffer.putInt(24);
+        buffer.flip();
+
+        assertEquals(42, buffer.getInt());
+        assertSameComponent(component, ComponentCodec.decode(buffer));
+        assertEquals(24, buffer.getInt());
+    }
+
+    @Test
+    void testDecodedComponentIsModifiable() {
+        Component component = Component.fromRaw("<red>Hello <hover action=SHOW_TEXT text=\"Hi\">world</hover>").freeze();
+        Component decoded = ComponentCodec.decode(ComponentCodec.encode(component));
+        assertFalse(decoded.isFrozen());
+        decoded.addNext("<green>!");
+        assertEquals(component.thaw().addNext("<green>!").serialize(), decoded.serialize());
+    }
+
+    @Test
+    void testNullComponent() {
+        assertNull(ComponentCodec.decode(ComponentCodec.encode(null)));
+    }
+
+    @Test
+    void testStringsAreWrittenOnce() {
+        String text = "A long text that is repeated";
+        Component component = Component.fromRaw("<red>" + text + "<blue>" + text + "<green>" + text);
+        byte[] bytes = ComponentCodec.encode(component);
+        assertTrue(bytes.length < 2 * text.getBytes(StandardCharsets.UTF_8).length, "Encoded in " + bytes.length + " bytes");
+    }
+
+    @Test
+    void testInvalidVersion() {
+        byte[] bytes = ComponentCodec.encode(Component.fromRaw("Hello"));
+        bytes[0] = (byte) (ComponentCodec.VERSION + 1);
+        assertThrows(InvalidComponentException.class, () -> ComponentCodec.decode(bytes));
+    }
+
+    @Test
+    void testTruncatedData() {
+        byte[] bytes = ComponentCodec.encode(Component.fromRaw("<red>Hello <bold>world"));
+        for (int i = 0; i < bytes.length; i++) {
+            byte[] truncated = new byte[i];
+            System.arraycopy(bytes, 0, truncated, 0, i);
+            assertThrows(InvalidComponentException.class, () -> ComponentCodec.decode(truncated));
+        }
+    }
+
+    @Test
+    void testOversizedLengthsAreNotAllocated() {
+        // Version, 2^31 - 1 strings, a string of 2^31 - 1 bytes and then the end of the data
+        byte[] bytes = {ComponentCodec.VERSION, -1, -1, -1, -1, 7, -1, -1, -1, -1, 7, 'H', 'i'};
+
+        assertThrows(InvalidComponentException.class, () -> ComponentCodec.decode(bytes));
+        assertThrows(EOFException.class, () -> ComponentCodec.read(new DataInputStream(new ByteArrayInputStream(bytes))));
+    }
+
+    @Test
+    void testUnknownComponent() {
+        byte[] bytes = ComponentCodec.encode(Component.fromRaw("<insertion text=\"Hi\">Insert</insertion>"));
+        String encoded = new String(bytes, StandardCharsets.ISO_8859_1).replace("insertion", "insertiom");
+        assertThrows(InvalidComponentException.class, () -> ComponentCodec.decode(encoded.getBytes(StandardCharsets.ISO_8859_1)));
+    }
+
+    private static void assertSameComponent(Component expected, Component actual) {
+        assertNotNull(actual);
+        assertEquals(expected.serialize(), actual.serialize());
+        assertEquals(ComponentConverter.json().convertComponent(expected), ComponentConverter.json().convertComponent(actual));
+        for (Component e = expected, a = actual; e != null || a != null; e = e.getNext(), a = a.getNext()) {
+            assertNotNull(e);
+            assertNotNull(a);
+            assertEquals(e.getClass(), a.getClass());
+            assertEquals(e.getColor(), a.getColor());
+            assertEquals(e.getFont(), a.getFont());
+            for (Style style : Style.values()) assertEquals(e.getStyle(style), a.getStyle(style), style.name());
+        }
+    }
+
+}
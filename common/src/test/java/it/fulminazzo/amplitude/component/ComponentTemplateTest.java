@@ -0,0 +1,100 @@
+package it.fulminazzo.amplitude.component;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ComponentTemplateTest {
+
+    @Test
+    void testPlaceholdersInOrderOfAppearance() {
+        ComponentTemplate template = ComponentTemplate.compile(
+                "<gray>[<hover action=SHOW_TEXT text=\"Rank: {rank}\">{player}</hover>] <white>{message} {player}");
+
+        assertEquals(Arrays.asList("rank", "player", "message"), template.getPlaceholders());
+    }
+
+    @Test
+    void testRenderText() {
+        ComponentTemplate template = ComponentTemplate.compile("<red>Hello {player}, <bold>welcome to {server}!");
+
+        Component rendered = template.render("Alex", "Amplitude");
+
+        assertEquals(Component.fromRaw("<red>Hello Alex, <bold>welcome to Amplitude!"), rendered);
+    }
+
+    @Test
+    void testRenderWithMap() {
+        ComponentTemplate template = ComponentTemplate.compile("<red>{first} and {second}");
+        Map<String, Object> arguments = new HashMap<>();
+        arguments.put("second", 2);
+        arguments.put("first", 1);
+
+        assertEquals("<red>1 and 2", template.render(arguments).serialize());
+    }
+
+    @Test
+    void testRenderOptions() {
+        ComponentTemplate template = ComponentTemplate.compile(
+                "<hover action=SHOW_TEXT text=\"Rank: {rank}\"><green>{player}</hover>");
+
+        HoverComponent rendered = (HoverComponent) template.render("Admin", "Alex");
+
+        assertEquals("Rank: Admin", rendered.getTagOption("text"));
+        assertEquals("Alex", rendered.getChild().getText());
+    }
+
+    @Test
+    void testRenderTranslatableArguments() {
+        ComponentTemplate template = ComponentTemplate.compile(
+                "<translatable arguments=\"{item}&{amount}\">commands.give.success.single</translatable>");
+
+        TranslatableComponent rendered = (TranslatableComponent) template.render("Diamond Sword", 1);
+
+        assertEquals("Diamond Sword", rendered.getArguments().get(0).getText());
+        assertEquals("1", rendered.getArguments().get(1).getText());
+    }
+
+    @Test
+    void testMissingPlaceholdersAreLeftUnchanged() {
+        ComponentTemplate template = ComponentTemplate.compile("{first} and {second}");
+
+        assertEquals("1 and {second}", template.render(1).getText());
+        assertEquals("{first} and {second}", template.render(new HashMap<>()).getText());
+    }
+
+    @Test
+    void testValuesAreNotParsed() {
+        ComponentTemplate template = ComponentTemplate.compile("<red>Hello {player}");
+
+        Component rendered = template.render("<bold>Alex");
+
+        assertEquals("Hello <bold>Alex", rendered.getText());
+        assertNull(rendered.getNext());
+    }
+
+    @Test
+    void testInvalidPlaceholdersAreIgnored() {
+        ComponentTemplate template = ComponentTemplate.compile("{} { player } {\"json\": 1} {valid}");
+
+        assertEquals(Arrays.asList("valid"), template.getPlaceholders());
+        assertEquals("{} { player } {\"json\": 1} ok", template.render("ok").getText());
+    }
+
+    @Test
+    void testRenderedComponentsAreIndependent() {
+        ComponentTemplate template = ComponentTemplate.compile("<red>Hello {player}");
+
+        Component first = template.render("Alex");
+        first.setText("Changed");
+        Component second = template.render("Steve");
+
+        assertEquals("Hello Steve", second.getText());
+        assertFalse(second.isFrozen());
+    }
+
+}
@@ -260,6 +260,38 @@ class ComponentTest {
         assertTrue(component.getNext().getStyle(style));
     }
 
+    @Test
+    void testGetStylesReturnsOnlySetStyles() {
+        Component component = new Component().setItalic(false).setBold(true);
+
+        assertArrayEquals(new Style[]{Style.BOLD, Style.ITALIC}, component.getStyles());
+        assertNull(component.getStyle(Style.UNDERLINED));
+    }
+
+    @Test
+    void testStylesAreInheritedExceptForReset() {
+        Component component = new Component().setBold(true).setUnderlined(false).setItalic(false);
+        Component next = new Component("Hello").setItalic(true);
+
+        component.setSameOptions(next);
+
+        assertTrue(next.getStyle(Style.BOLD));
+        assertFalse(next.getStyle(Style.UNDERLINED));
+        assertTrue(next.getStyle(Style.ITALIC));
+        assertNull(next.getStyle(Style.RESET));
+        assertNull(next.getStyle(Style.OBFUSCATED));
+    }
+
+    @Test
+    void testAllOptionsMatchComparesOnlySetStyles() {
+        Component first = new Component("Hello").setBold(true).setItalic(false);
+        Component second = new Component("Hello").setBold(true).setItalic(false).setUnderlined(true);
+
+        assertTrue(first.compareOptions(second));
+        assertFalse(second.compareOptions(first));
+        assertFalse(first.allOptionsMatch(second));
+    }
+
     @ParameterizedTest
     @MethodSource("getTestFromRawParameters")
     void testFromRaw(Class<?> expected, String rawText) {
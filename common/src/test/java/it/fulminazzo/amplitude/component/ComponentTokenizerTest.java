@@ -0,0 +1,80 @@
+package it.fulminazzo.amplitude.component;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ComponentTokenizerTest {
+
+    private static Object[][] getTokenizeTests() {
+        return new Object[][]{
+                new Object[]{"Hello world", new String[]{"TEXT:Hello world"}},
+                new Object[]{"<red>Hello world", new String[]{"TAG:<red>", "TEXT:Hello world"}},
+                new Object[]{"Hello <green>world", new String[]{"TEXT:Hello ", "TAG:<green>", "TEXT:world"}},
+                new Object[]{"<red><bold>", new String[]{"TAG:<red>", "TAG:<bold>"}},
+                new Object[]{"<<lightpurple>player>", new String[]{"TEXT:<", "TAG:<lightpurple>", "TEXT:player>"}},
+                new Object[]{"<> < >", new String[]{"TEXT:<> ", "TAG:< >"}},
+                new Object[]{"<hex color=#FF00AA>Hello", new String[]{"TAG:<hex color=#FF00AA>", "TEXT:Hello"}},
+                new Object[]{"<\"a<b>\">", new String[]{"TAG:<\"a<b>\">"}},
+                new Object[]{"<'a<b>'>", new String[]{"TAG:<'a<b>'>"}},
+                new Object[]{"Not closed <red", new String[]{"TEXT:Not closed <red"}},
+        };
+    }
+
+    @ParameterizedTest
+    @MethodSource("getTokenizeTests")
+    void testTokenize(String raw, String[] expected) {
+        ComponentTokenizer tokenizer = new ComponentTokenizer(raw);
+        List<String> actual = new ArrayList<>();
+        while (tokenizer.next()) actual.add(tokenizer.getType() + ":" + tokenizer.getText());
+        assertEquals(Arrays.asList(expected), actual);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "<red>Hello world",
+            "Some <not closed tag",
+            "<hover action=\"SHOW_TEXT\" text=\"<white>Name\">Hello</hover>",
+            "<\"a<b>\"> and <'a<b>'> and <'a'b<c>'>",
+            "<\"a\"b<c>\"> <'a<b>c'> <<<>>>",
+            "<mock key10='this value is <also> good'>Hello world</mock>",
+    })
+    void testTagsMatchTagRegex(String raw) {
+        List<String> expected = new ArrayList<>();
+        Matcher matcher = Component.TAG_REGEX.matcher(raw);
+        while (matcher.find()) expected.add(matcher.group());
+
+        List<String> actual = new ArrayList<>();
+        ComponentTokenizer tokenizer = new ComponentTokenizer(raw);
+        while (tokenizer.next())
+            if (tokenizer.getType() == ComponentTokenizer.TokenType.TAG) actual.add(tokenizer.getText());
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void testTagName() {
+        ComponentTokenizer tokenizer = new ComponentTokenizer("<click action=OPEN_URL url=https://fulminazzo.it>");
+        assertTrue(tokenizer.next());
+        assertEquals("click", tokenizer.getTagName());
+    }
+
+    @Test
+    void testSeek() {
+        ComponentTokenizer tokenizer = new ComponentTokenizer("<red>Hello world");
+        tokenizer.seek(11);
+        assertTrue(tokenizer.next());
+        assertEquals(ComponentTokenizer.TokenType.TEXT, tokenizer.getType());
+        assertEquals("world", tokenizer.getText());
+        assertFalse(tokenizer.next());
+    }
+
+}
@@ -137,6 +137,74 @@ class ContainerComponentTest {
         assertEquals(rawText, mockContainer.serialize());
     }
 
+    @Test
+    void testChildParsedWhenRequested() {
+        MockContainer mockContainer = assertDoesNotThrow(() -> new MockContainer("<mock><hover>Invalid content</hover></mock>"));
+        assertThrows(RuntimeException.class, mockContainer::getChild);
+    }
+
+    @Test
+    void testTextDoesNotParseChild() {
+        MockContainer mockContainer = new MockContainer("<mock><hover>Invalid content</hover></mock>");
+        assertEquals("<hover>Invalid content</hover>", assertDoesNotThrow(mockContainer::getText));
+        assertThrows(RuntimeException.class, mockContainer::getChild);
+    }
+
+    @Test
+    void testChildParsedWhenRequestedInheritsOptions() {
+        Component component = Component.fromRaw("<red><bold>Hello <click action=RUN_COMMAND command=\"say hi\">world</click>");
+        while (!(component instanceof ClickComponent)) component = component.getNext();
+        ClickComponent clickComponent = (ClickComponent) component;
+        assertEquals(Color.RED, clickComponent.getChild().getColor());
+        assertTrue(clickComponent.getChild().isBold());
+    }
+
+    @Test
+    void testAdjacentContainersNotMerged() {
+        String rawText = "<click action=\"RUN_COMMAND\" command=\"a\">A</click><click action=\"RUN_COMMAND\" command=\"b\">B</click>";
+        assertEquals(rawText, Component.fromRaw(rawText).serialize());
+    }
+
+    @Test
+    void testNestedContainersWithSameTag() {
+        Component component = Component.fromRaw("<hover action=SHOW_TEXT text=\"Outer\">Hello " +
+                "<hover action=SHOW_TEXT text=\"Inner\">world</hover>!</hover> after");
+        assertInstanceOf(HoverComponent.class, component);
+        HoverComponent outer = (HoverComponent) component;
+        assertEquals("Outer", outer.getTagOption("text"));
+        assertEquals(" after", outer.getNext().getText());
+
+        Component child = outer.getChild();
+        assertEquals("Hello ", child.getText());
+        HoverComponent inner = (HoverComponent) child.getNext();
+        assertEquals("Inner", inner.getTagOption("text"));
+        assertEquals("world", inner.getChild().getText());
+        assertEquals("!", inner.getNext().getText());
+    }
+
+    @Test
+    void testEndTagInNestedOptions() {
+        ClickComponent component = new ClickComponent("<click action=COPY_TO_CLIPBOARD text=\"Outer\">" +
+                "<click action=COPY_TO_CLIPBOARD text=\"</click>\">Hello</click></click> after");
+        assertEquals("Outer", component.getTagOption("text"));
+        assertEquals(" after", component.getNext().getText());
+    }
+
+    @Test
+    void testTagWithSameStart() {
+        MockContainer mockContainer = new MockContainer("<mocking>Hello</mocking><mock>world</mock>");
+        assertEquals("world", mockContainer.getChild().getText());
+    }
+
+    @Test
+    void testCopyChildNotParsed() {
+        ClickComponent clickComponent = new ClickComponent("<click action=RUN_COMMAND command=\"say hi\"><red>Hello</click>");
+        ClickComponent copy = clickComponent.copy();
+        copy.getChild().setText("Changed");
+        assertEquals("Hello", clickComponent.getChild().getText());
+        assertEquals("Changed", copy.getChild().getText());
+    }
+
     private static String mockContainerComponent(String next, String children) {
         String mock = mockComponent(null, null, null, null, null, null, null, null, null);
         mock = mock.replace("color:", String.format("child: %s, color:", children));
@@ -0,0 +1,147 @@
+package it.fulminazzo.amplitude.component;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FrozenComponentTest {
+    private static final String RAW = "<red>Hello <hover action=SHOW_TEXT text=\"Hi\"><bold>world</hover><green>!";
+
+    @Test
+    void testFrozenComponentCannotBeModified() {
+        Component component = Component.fromRaw(RAW).freeze();
+
+        assertTrue(component.isFrozen());
+        assertThrows(UnsupportedOperationException.class, () -> component.setText("Changed"));
+        assertThrows(UnsupportedOperationException.class, () -> component.setColor(Color.AQUA));
+        assertThrows(UnsupportedOperationException.class, () -> component.setStyle(Style.ITALIC, true));
+        assertThrows(UnsupportedOperationException.class, () -> component.addNext("Another"));
+        assertThrows(UnsupportedOperationException.class, () -> component.getNext().setText("Changed"));
+    }
+
+    @Test
+    void testFreezeAlsoFreezesChildren() {
+        Component component = Component.fromRaw(RAW).freeze();
+
+        HoverComponent hover = (HoverComponent) component.getNext();
+        assertTrue(hover.getChild().isFrozen());
+        assertThrows(UnsupportedOperationException.class, () -> hover.setTagOption("text", "Changed"));
+        assertThrows(UnsupportedOperationException.class, () -> hover.getChild().setBold(false));
+    }
+
+    @Test
+    void testChildParsedAfterFreezeIsShared() throws InterruptedException {
+        ClickComponent component = new ClickComponent("<click action=RUN_COMMAND command=\"say hi\"><red>Hello</click>").freeze();
+
+        Component[] children = new Component[8];
+        Thread[] threads = new Thread[children.length];
+        for (int i = 0; i < threads.length; i++) {
+            final int index = i;
+            threads[i] = new Thread(() -> children[index] = component.getChild());
+            threads[i].start();
+        }
+        for (Thread thread : threads) thread.join();
+
+        assertTrue(children[0].isFrozen());
+        for (Component child : children) assertSame(children[0], child);
+    }
+
+    @Test
+    void testTranslatableArgumentsAreFrozen() {
+        TranslatableComponent component = new TranslatableComponent(
+                "<translatable arguments=\"Diamond Sword&1\">commands.give.success.single</translatable>").freeze();
+
+        assertTrue(component.getArguments().get(0).isFrozen());
+        assertThrows(UnsupportedOperationException.class, () -> component.addArgument("Another"));
+        assertThrows(UnsupportedOperationException.class, () -> component.getArguments().clear());
+    }
+
+    @Test
+    void testThawReturnsModifiableCopy() {
+        Component frozen = Component.fromRaw(RAW).freeze();
+        Component thawed = frozen.thaw();
+
+        assertNotSame(frozen, thawed);
+        assertFalse(thawed.isFrozen());
+        assertFalse(thawed.getNext().isFrozen());
+        assertEquals(frozen, thawed);
+
+        thawed.setColor(Color.AQUA);
+        assertEquals(Color.RED, frozen.getColor());
+    }
+
+    @Test
+    void testThawOfModifiableComponentReturnsItself() {
+        Component component = Component.fromRaw(RAW);
+        assertSame(component, component.thaw());
+    }
+
+    @Test
+    void testWithSharesUnchangedComponents() {
+        Component frozen = Component.fromRaw(RAW).freeze();
+        Component derived = frozen.withText("Goodbye ").withColor(Color.AQUA);
+
+        assertTrue(derived.isFrozen());
+        assertSame(frozen.getNext(), derived.getNext());
+        assertEquals("Goodbye ", derived.getText());
+        assertEquals(Color.AQUA, derived.getColor());
+        assertEquals("Hello ", frozen.getText());
+        assertEquals(Color.RED, frozen.getColor());
+    }
+
+    @Test
+    void testWithNext() {
+        Component frozen = Component.fromRaw("<red>Hello <green>world").freeze();
+        Component next = Component.fromRaw("<bold>everyone");
+        Component derived = frozen.withNext(next);
+
+        assertEquals(Component.fromRaw("<red>Hello <bold>everyone"), derived);
+        assertEquals(Component.fromRaw("<red>Hello <green>world"), frozen);
+        assertFalse(next.isFrozen());
+        assertNull(next.getColor());
+    }
+
+    @Test
+    void testWithOnModifiableComponentDoesNotChangeIt() {
+        Component component = Component.fromRaw(RAW);
+        Component derived = component.withStyle(Style.ITALIC, true);
+
+        assertTrue(derived.isFrozen());
+        assertFalse(component.isFrozen());
+        assertNull(component.getStyle(Style.ITALIC));
+        assertTrue(derived.isItalic());
+    }
+
+    @Test
+    void testSetNextWithFrozenComponentUsesCopy() {
+        Component frozen = Component.fromRaw("<bold>world").freeze();
+        Component component = Component.fromRaw("<red>Hello ").setNext(frozen);
+
+        assertNotSame(frozen, component.getNext());
+        assertEquals(Color.RED, component.getNext().getColor());
+        assertNull(frozen.getColor());
+    }
+
+    @Test
+    void testSetChildWithFrozenComponentUsesCopy() {
+        Component frozen = Component.fromRaw("world").freeze();
+        ClickComponent component = new ClickComponent("<click action=RUN_COMMAND command=\"say hi\"></click>");
+        component.setColor(Color.RED);
+        component.setChild(frozen);
+
+        assertNotSame(frozen, component.getChild());
+        assertFalse(component.getChild().isFrozen());
+        assertEquals(Color.RED, component.getChild().getColor());
+        assertNull(frozen.getColor());
+    }
+
+    @Test
+    void testReplaceOnFrozenComponentReturnsFrozenComponent() {
+        Component frozen = Component.fromRaw(RAW).freeze();
+        Component replaced = frozen.replace("Hello", "Goodbye");
+
+        assertTrue(replaced.isFrozen());
+        assertEquals(Component.fromRaw(RAW.replace("Hello", "Goodbye")), replaced);
+    }
+
+}
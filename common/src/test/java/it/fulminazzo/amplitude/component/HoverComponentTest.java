@@ -43,6 +43,20 @@ class HoverComponentTest {
         };
     }
 
+    @Test
+    void testTagOptionComponent() {
+        HoverComponent component = new HoverComponent("<hover action=SHOW_TEXT text=\"<red>Hello\">Hello world</hover>");
+        Component text = component.getTagOptionComponent("text");
+
+        assertEquals("<red>Hello", text.serialize());
+        assertTrue(text.isFrozen());
+        assertSame(text, component.getTagOptionComponent("text"));
+        assertNull(component.getTagOptionComponent("missing"));
+
+        component.setTagOption("text", "<blue>Hi");
+        assertEquals("<blue>Hi", component.getTagOptionComponent("text").serialize());
+    }
+
     @ParameterizedTest
     @MethodSource("getTestParameters")
     void testVariousActions(String rawText, boolean valid) {
@@ -0,0 +1,125 @@
+package it.fulminazzo.amplitude.component;
+
+import com.google.gson.stream.JsonReader;
+import it.fulminazzo.amplitude.converter.ComponentConverter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonComponentReaderTest {
+
+    private static Object[][] getJsonTests() {
+        return new Object[][]{
+                new Object[]{"\"Hello world\"", "Hello world"},
+                new Object[]{"{\"text\":\"Hello world\"}", "Hello world"},
+                new Object[]{"{\"text\":\"Hello\",\"color\":\"dark_red\",\"bold\":true}", "<darkred><bold>Hello"},
+                new Object[]{"{\"text\":\"Hello\",\"color\":\"#ff00aa\"}", "<hex color=\"#FF00AA\">Hello"},
+                new Object[]{"{\"text\":\"Hello\",\"font\":\"minecraft:alt\"}", "<font id=\"ALT\">Hello"},
+                new Object[]{"[\"Hello \",{\"text\":\"world\",\"color\":\"red\"}]", "Hello <red>world"},
+                new Object[]{"{\"text\":\"Hello \",\"color\":\"red\",\"extra\":[{\"text\":\"world\",\"italic\":true},\"!\"]}",
+                        "<red>Hello <italic>world<!italic>!"},
+                new Object[]{"{\"text\":\"\",\"extra\":[{\"text\":\"Hello \",\"color\":\"red\"},\"world\"]}",
+                        "<red>Hello <white>world"},
+                new Object[]{"{\"text\":\"Hello\",\"insertion\":\"Hi\"}", "<insertion text=\"Hi\">Hello</insertion>"},
+                new Object[]{"{\"text\":\"Hello\",\"clickEvent\":{\"action\":\"run_command\",\"value\":\"/say hi\"}}",
+                        "<click action=\"RUN_COMMAND\" command=\"/say hi\">Hello</click>"},
+                new Object[]{"{\"text\":\"Hello\",\"click_event\":{\"action\":\"open_url\",\"url\":\"https://example.com\"}}",
+                        "<click action=\"OPEN_URL\" url=\"https://example.com\">Hello</click>"},
+                new Object[]{"{\"text\":\"Hello\",\"hoverEvent\":{\"action\":\"show_text\",\"contents\":{\"text\":\"tip\",\"italic\":true}}}",
+                        "<hover action=\"SHOW_TEXT\" text=\"<italic>tip\">Hello</hover>"},
+                new Object[]{"{\"text\":\"Hello\",\"hover_event\":{\"action\":\"show_text\",\"value\":\"tip\"}}",
+                        "<hover action=\"SHOW_TEXT\" text=\"tip\">Hello</hover>"},
+                new Object[]{"{\"text\":\"Item\",\"hoverEvent\":{\"action\":\"show_item\",\"contents\":{\"id\":\"minecraft:stone\",\"count\":2}}}",
+                        "<hover action=\"SHOW_ITEM\" id=\"minecraft:stone\" Count=\"2b\">Item</hover>"},
+                new Object[]{"{\"text\":\"Item\",\"hover_event\":{\"action\":\"show_item\",\"id\":\"minecraft:stone\"}}",
+                        "<hover action=\"SHOW_ITEM\" id=\"minecraft:stone\" Count=\"1b\">Item</hover>"},
+                new Object[]{"{\"text\":\"Entity\",\"hoverEvent\":{\"action\":\"show_entity\",\"contents\":{\"type\":\"minecraft:pig\"," +
+                        "\"id\":[1,2,3,4],\"name\":{\"text\":\"Pig\"}}}}",
+                        "<hover name=\"Pig\" action=\"SHOW_ENTITY\" id=\"00000001-0000-0002-0000-000300000004\" type=\"minecraft:pig\">Entity</hover>"},
+                new Object[]{"{\"text\":\"Hello\",\"obfuscated\":false,\"unknown\":{\"a\":[1,2]},\"shadow_color\":-1}", "<!obfuscated>Hello"},
+                new Object[]{"{\"text\":\"Hello\",\"hoverEvent\":{\"action\":\"unknown\",\"value\":\"tip\"}}", "Hello"},
+                new Object[]{"{\"text\":\"Hello\",\"hoverEvent\":{\"contents\":{\"text\":\"tip\",\"italic\":true},\"action\":\"show_text\"}}",
+                        "<hover action=\"SHOW_TEXT\" text=\"<italic>tip\">Hello</hover>"},
+                new Object[]{"{\"text\":\"Item\",\"hoverEvent\":{\"contents\":{\"id\":\"minecraft:stone\",\"count\":2},\"action\":\"show_item\"}}",
+                        "<hover action=\"SHOW_ITEM\" id=\"minecraft:stone\" Count=\"2b\">Item</hover>"},
+                new Object[]{"{\"text\":\"Pig\",\"hover_event\":{\"id\":\"minecraft:pig\",\"uuid\":[1,2,3,4],\"action\":\"show_entity\"}}",
+                        "<hover name=\"\" action=\"SHOW_ENTITY\" id=\"00000001-0000-0002-0000-000300000004\" type=\"minecraft:pig\">Pig</hover>"},
+                new Object[]{"{\"text\":\"Wood\",\"hoverEvent\":{\"value\":\"achievement.mineWood\",\"action\":\"show_achievement\"}}",
+                        "<hover action=\"SHOW_ACHIEVEMENT\" id=\"mineWood\">Wood</hover>"},
+                new Object[]{"{\"extra\":[{\"text\":\"world\",\"italic\":true},\"!\"],\"text\":\"Hello \",\"color\":\"red\"}",
+                        "<red>Hello <italic>world<!italic>!"},
+                new Object[]{"{\"text\":\"Entity\",\"hoverEvent\":{\"action\":\"show_entity\",\"contents\":{\"type\":\"minecraft:pig\"," +
+                        "\"id\":\"00000001-0000-0002-0000-000300000004\",\"name\":{\"extra\":[\"gy\"],\"text\":\"Pig\"}}}}",
+                        "<hover name=\"Piggy\" action=\"SHOW_ENTITY\" id=\"00000001-0000-0002-0000-000300000004\" type=\"minecraft:pig\">Entity</hover>"},
+        };
+    }
+
+    @ParameterizedTest
+    @MethodSource("getJsonTests")
+    void testFromJson(String json, String expected) {
+        assertEquals(expected, Component.fromJson(json).serialize());
+    }
+
+    private static Object[] getRoundTripTests() {
+        return new Object[]{
+                "<red>Hello <bold>world<reset> plain",
+                "<hex color=#ff00aa>Hello",
+                "<click action=RUN_COMMAND command=\"say hi\"><red>Click <bold>me</click> now",
+                "<hover action=SHOW_TEXT text=\"Hello friend\">Hello world</hover>",
+                "<hover action=SHOW_ACHIEVEMENT id=mineWood>Achievement</hover>",
+                "<insertion text=\"Hi\">Insert</insertion>",
+                "<red>Hi <translatable arguments=\"Diamond Sword&1\">commands.give.successful.single</translatable>",
+        };
+    }
+
+    @ParameterizedTest
+    @MethodSource("getRoundTripTests")
+    void testRoundTrip(String rawText) {
+        String json = ComponentConverter.json().convertComponent(Component.fromRaw(rawText));
+        assertEquals(json, ComponentConverter.json().convertComponent(Component.fromJson(json)));
+    }
+
+    @Test
+    void testTranslatable() {
+        Component component = Component.fromJson("{\"translate\":\"commands.give.success.single\"," +
+                "\"with\":[\"Alex & friends\",{\"text\":\"1\",\"color\":\"red\"}]}");
+        assertInstanceOf(TranslatableComponent.class, component);
+        TranslatableComponent translatable = (TranslatableComponent) component;
+        assertEquals("commands.give.success.single", translatable.getText());
+        assertEquals("'Alex & friends'&<red>1", translatable.getTagOption("arguments"));
+        List<Component> arguments = translatable.getArguments();
+        assertEquals(2, arguments.size());
+        assertEquals("Alex & friends", arguments.get(0).serialize());
+        assertEquals("<red>1", arguments.get(1).serialize());
+    }
+
+    @Test
+    void testFromJsonReader() throws IOException {
+        JsonReader reader = new JsonReader(new StringReader("{\"message\":{\"text\":\"Hello\",\"color\":\"red\"},\"other\":null}"));
+        reader.beginObject();
+        assertEquals("message", reader.nextName());
+        assertEquals("<red>Hello", Component.fromJson(reader).serialize());
+        assertEquals("other", reader.nextName());
+        assertNull(Component.fromJson(reader));
+        reader.endObject();
+    }
+
+    @Test
+    void testFromNullJson() {
+        assertNull(Component.fromJson((String) null));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"{\"text\":", "{\"text\":\"Hello\"", "[\"Hello\"", "1 2", "{\"text\":\"Hello\",\"bold\":[]}"})
+    void testInvalidJson(String json) {
+        assertThrows(InvalidComponentException.class, () -> Component.fromJson(json));
+    }
+
+}
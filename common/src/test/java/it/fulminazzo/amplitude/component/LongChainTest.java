@@ -0,0 +1,100 @@
+package it.fulminazzo.amplitude.component;
+
+import it.fulminazzo.amplitude.converter.CharCodeConverter;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Timeout(60)
+class LongChainTest {
+    private static final int SEGMENTS = 100_000;
+    private Component component;
+
+    @BeforeEach
+    void setUp() {
+        this.component = new Component("<red>0");
+        for (int i = 1; i < SEGMENTS; i++)
+            this.component.addNext(new Component().setColor(i % 2 == 0 ? Color.RED : Color.GREEN, false).setText(String.valueOf(i)));
+    }
+
+    private static int count(@NotNull Component component) {
+        int count = 0;
+        for (Component c = component; c != null; c = c.getNext()) count++;
+        return count;
+    }
+
+    @Test
+    void testAddNext() {
+        assertEquals(SEGMENTS, count(this.component));
+    }
+
+    @Test
+    void testPropagation() {
+        this.component.setBold(true);
+
+        Component last = this.component;
+        while (last.getNext() != null) last = last.getNext();
+        assertTrue(last.isBold());
+        assertEquals(Color.GREEN, last.getColor());
+    }
+
+    @Test
+    void testSerialize() {
+        final String serialized = this.component.serialize();
+
+        assertTrue(serialized.startsWith("<red>0<green>1<red>2"));
+        assertTrue(serialized.endsWith("<green>" + (SEGMENTS - 1)));
+    }
+
+    @Test
+    void testContains() {
+        assertTrue(this.component.contains(new Component("<green>" + (SEGMENTS - 1))));
+        assertFalse(this.component.contains(new Component("<green>" + SEGMENTS)));
+    }
+
+    @Test
+    void testCopyAndFreeze() {
+        Component copy = this.component.copy().freeze();
+
+        assertEquals(SEGMENTS, count(copy));
+        assertTrue(copy.getNext().getNext().isFrozen());
+    }
+
+    @Test
+    void testConvert() {
+        String converted = new CharCodeConverter("&").convertComponent(this.component);
+
+        assertTrue(converted.startsWith("&c0&a1&c2"));
+        assertTrue(converted.endsWith("&a" + (SEGMENTS - 1)));
+    }
+
+    @Test
+    void testAddNextAfterDetaching() {
+        Component middle = this.component.getNext().getNext();
+        middle.setNext(new Component("<blue>detached"));
+        this.component.addNext(new Component("<yellow>last"));
+
+        assertEquals(5, count(this.component));
+        assertEquals("last", this.component.getNext().getNext().getNext().getNext().getText());
+    }
+
+    @Test
+    void testAddNextFromMiddleComponent() {
+        Component middle = this.component.getNext().getNext();
+        middle.addNext(new Component("<yellow>middle"));
+        this.component.addNext(new Component("<blue>head"));
+        middle.getNext().setNext(new Component("<aqua>detached"));
+        middle.addNext(new Component("<gold>middle"));
+        this.component.addNext(new Component("<green>head"));
+
+        assertEquals(7, count(this.component));
+        Component last = this.component;
+        while (last.getNext() != null) last = last.getNext();
+        assertEquals("head", last.getText());
+        assertEquals(Color.GREEN, last.getColor());
+    }
+
+}
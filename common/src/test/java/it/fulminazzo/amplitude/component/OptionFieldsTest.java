@@ -0,0 +1,66 @@
+package it.fulminazzo.amplitude.component;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OptionFieldsTest {
+
+    private static List<String> getNames(Class<? extends Component> type) {
+        OptionFields options = OptionFields.of(type);
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < options.size(); i++) names.add(options.getName(i));
+        return names;
+    }
+
+    @Test
+    void testComponentOptions() {
+        assertEquals(Arrays.asList("color", "font"), getNames(Component.class));
+    }
+
+    @Test
+    void testContainerOptionsStartWithChild() {
+        assertEquals(Arrays.asList("child", "color", "font"), getNames(TranslatableComponent.class));
+    }
+
+    @Test
+    void testSubclassFieldsNamedAsInternalFieldsAreOptions() {
+        assertEquals(Arrays.asList("arguments", "tail", "color", "font"), getNames(MockComponent.class));
+    }
+
+    @Test
+    void testOptionsAreComputedOncePerClass() {
+        assertSame(OptionFields.of(HoverComponent.class), OptionFields.of(HoverComponent.class));
+    }
+
+    @Test
+    void testChildIsNotInheritable() {
+        OptionFields options = OptionFields.of(HoverComponent.class);
+        for (int i = 0; i < options.size(); i++) {
+            String name = options.getName(i);
+            assertEquals(!name.equals("child"), options.isInheritable(i), name);
+        }
+    }
+
+    @Test
+    void testGetAndSet() {
+        Component component = new Component("<red>Hello");
+        OptionFields options = OptionFields.of(Component.class);
+
+        options.set(1, component, Font.ALT);
+
+        assertEquals(Color.RED, options.get(0, component));
+        assertEquals(Font.ALT, component.getFont());
+    }
+
+    // Not static, to check that the reference to the outer instance is ignored
+    private class MockComponent extends Component {
+        private String arguments;
+        private Integer tail;
+    }
+
+}
@@ -1,8 +1,12 @@
 package it.fulminazzo.amplitude.component;
 
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 public class ReplaceTest {
@@ -61,4 +65,37 @@ public class ReplaceTest {
         Component t2 = Component.fromRaw(raw);
         assertEquals(t1.serialize(), t1.replace(t2, t3).serialize());
     }
+
+    @Test
+    void testReplaceMany() {
+        Component t1 = Component.fromRaw("<red>{player} joined<blue>, welcome {player} to {server}!");
+        Map<String, String> replacements = new LinkedHashMap<>();
+        replacements.put("{player}", "<yellow>Alex");
+        replacements.put("{server}", "Lobby");
+
+        assertEquals("<red><yellow>Alex<red> joined<blue>, welcome <yellow>Alex<blue> to Lobby!",
+                t1.replace(replacements, true).serialize());
+    }
+
+    @Test
+    void testReplaceManyPrefersFirstEndingSection() {
+        Component t1 = Component.fromRaw("ushers");
+        Map<String, String> replacements = new LinkedHashMap<>();
+        replacements.put("he", "1");
+        replacements.put("she", "2");
+        replacements.put("hers", "3");
+
+        assertEquals("u2rs", t1.replace(replacements).serialize());
+    }
+
+    @Test
+    void testReplaceManyIsNotChained() {
+        Component t1 = Component.fromRaw("<red>a b");
+        Map<String, String> replacements = new LinkedHashMap<>();
+        replacements.put("a", "b");
+        replacements.put("b", "a");
+
+        assertEquals("<red>b a", t1.replace(replacements).serialize());
+    }
+
 }
@@ -1,12 +1,15 @@
 package it.fulminazzo.amplitude.converter;
 
 import it.fulminazzo.amplitude.RoseFluoComponent;
+import it.fulminazzo.amplitude.component.Color;
 import it.fulminazzo.amplitude.component.Component;
+import it.fulminazzo.amplitude.component.HoverComponent;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 class CharCodeConverterTest {
 
@@ -84,4 +87,48 @@ class CharCodeConverterTest {
         Component component = new Component(rawText);
         assertEquals(expected, new CharCodeConverter("<COLOR>").convertComponent(component));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testConvertToAppendsToExistingContent() {
+        Component component = Component.fromRaw("<red>Hello <hover action=SHOW_TEXT text=\"Hi\"><bold>world</hover>");
+        StringBuilder builder = new StringBuilder("> ");
+
+        assertSame(builder, ComponentConverter.ampersand().convertTo(component, builder));
+        assertEquals("> " + ComponentConverter.ampersand().convertComponent(component), builder.toString());
+    }
+
+    @Test
+    void testConvertEmptyContainer() {
+        Component component = Component.fromRaw("<red>Hello <click action=OPEN_URL url=https://www.google.com></click>world");
+        assertEquals("&cHello &cworld", ComponentConverter.ampersand().convertComponent(component));
+    }
+
+    @Test
+    void testConvertUsesOverriddenConvertMethods() {
+        CharCodeConverter converter = new CharCodeConverter("&") {
+            @Override
+            public String convertHoverComponent(HoverComponent component) {
+                return "[" + component.getTagOption("text") + "]";
+            }
+        };
+        Component component = Component.fromRaw("<red>Hello <hover action=SHOW_TEXT text=\"Hi\">world</hover>!");
+
+        assertEquals("&cHello [Hi]&c!", converter.convertComponent(component));
+    }
+
+    @Test
+    void testConvertUsesOverriddenApplyMethods() {
+        CharCodeConverter converter = new CharCodeConverter("&") {
+            @SuppressWarnings("unchecked")
+            @Override
+            public <T> T applyColor(T component, Color color) {
+                return (T) ("[" + color.getName() + "]");
+            }
+        };
+        Component component = Component.fromRaw("<red>Hello <bold>world");
+
+        assertEquals("[red]Hello [red]&lworld", converter.convertComponent(component));
+        assertEquals("[red]Hello ", converter.convertSimpleComponent(component));
+    }
+
+}
@@ -1,14 +1,121 @@
 package it.fulminazzo.amplitude.converter;
 
+import it.fulminazzo.amplitude.RoseFluoComponent;
+import it.fulminazzo.amplitude.component.Component;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class ComponentConverterTest {
 
+    @AfterEach
+    void tearDown() {
+        MockConverterProvider.converter = null;
+        ComponentConverter.setConverter(null);
+    }
+
     @Test
     void testConverterMethod() {
         assertEquals(SectionSignConverter.class, ComponentConverter.converter().getClass());
     }
 
-}
\ No newline at end of file
+    @Test
+    void testConverterIsCached() {
+        assertSame(ComponentConverter.converter(), ComponentConverter.converter());
+    }
+
+    @Test
+    void testSetConverter() {
+        ComponentConverter converter = new AmpersandConverter();
+        ComponentConverter.setConverter(converter);
+        assertSame(converter, ComponentConverter.converter());
+
+        ComponentConverter.setConverter(null);
+        assertEquals(SectionSignConverter.class, ComponentConverter.converter().getClass());
+    }
+
+    @Test
+    void testConverterFromProvider() {
+        ComponentConverter converter = new AmpersandConverter();
+        MockConverterProvider.converter = converter;
+        ComponentConverter.setConverter(null);
+        assertSame(converter, ComponentConverter.converter());
+    }
+
+    @Test
+    void testPlatformConvertersOrder() {
+        assertEquals(3, ComponentConverter.getClassesInPackage().size());
+        assertTrue(ComponentConverter.getClassesInPackage().get(0).endsWith(".AdventureConverter"));
+        assertTrue(ComponentConverter.getClassesInPackage().get(1).endsWith(".BungeeConverter"));
+        assertTrue(ComponentConverter.getClassesInPackage().get(2).endsWith(".LegacyBungeeConverter"));
+    }
+
+    @Test
+    void testRegisterConverter() {
+        // Load CustomComponent
+        new RoseFluoComponent();
+        Component component = Component.fromRaw("<blue>Hello <rose>world");
+        ComponentConverter converter = new AmpersandConverter();
+        converter.registerConverter(RoseFluoComponent.class, c -> "&d" + c.getText());
+        assertEquals("&9Hello &dworld", converter.convertComponent(component));
+
+        converter.unregisterConverter(RoseFluoComponent.class);
+        assertEquals("&9Hello &x&F&F&0&0&A&Aworld", converter.convertComponent(component));
+    }
+
+    @Test
+    void testRegisteredConvertersAreNotShared() {
+        ComponentConverter converter = new AmpersandConverter();
+        converter.registerConverter(Component.class, c -> "registered");
+        assertEquals("registered", converter.convertComponent(new Component("Hello")));
+        assertEquals("Hello", new AmpersandConverter().convertComponent(new Component("Hello")));
+    }
+
+    @Test
+    void testBroadcastConvertsOnce() {
+        final List<String> sent = new ArrayList<>();
+        final int[] conversions = new int[1];
+        ComponentConverter converter = new CharCodeConverter("&") {
+
+            @Override
+            public <T> T convertComponent(Component component) {
+                conversions[0]++;
+                return super.convertComponent(component);
+            }
+
+            @Override
+            public <T, P> void send(P player, T component) {
+                sent.add(player + ": " + component);
+            }
+
+        };
+        converter.broadcast(Arrays.asList("Alex", null, "Steve"), Component.fromRaw("<red>Hello"));
+        assertEquals(1, conversions[0]);
+        assertEquals(Arrays.asList("Alex: &cHello", "Steve: &cHello"), sent);
+
+        converter.broadcast(Collections.emptyList(), Component.fromRaw("<red>Hello"));
+        assertEquals(1, conversions[0]);
+    }
+
+    @Test
+    void testComponentBroadcast() {
+        final List<String> sent = new ArrayList<>();
+        ComponentConverter.setConverter(new CharCodeConverter("&") {
+
+            @Override
+            public <T, P> void send(P player, T component) {
+                sent.add(player + ": " + component);
+            }
+
+        });
+        Component.fromRaw("<blue>Hi").broadcast(Arrays.asList("Alex", "Steve"));
+        assertEquals(Arrays.asList("Alex: &9Hi", "Steve: &9Hi"), sent);
+    }
+
+}
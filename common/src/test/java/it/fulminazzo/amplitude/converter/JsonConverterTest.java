@@ -0,0 +1,98 @@
+package it.fulminazzo.amplitude.converter;
+
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonWriter;
+import it.fulminazzo.amplitude.RoseFluoComponent;
+import it.fulminazzo.amplitude.component.Component;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class JsonConverterTest {
+    private static final JsonConverter converter = ComponentConverter.json();
+
+    private static Object[][] getConvertTests() {
+        return new Object[][]{
+                new Object[]{"Hello world", "{\"text\":\"Hello world\"}"},
+                new Object[]{"<red>Hello <bold>world",
+                        "{\"text\":\"\",\"extra\":[{\"text\":\"Hello \",\"color\":\"red\"}," +
+                                "{\"text\":\"world\",\"color\":\"red\",\"bold\":true}]}"},
+                new Object[]{"<dark_red>Hello", "{\"text\":\"Hello\",\"color\":\"dark_red\"}"},
+                new Object[]{"<hex color=#ff00aa>Hello", "{\"text\":\"Hello\",\"color\":\"#FF00AA\"}"},
+                new Object[]{"<font id=\"ILLAGERALT\">Hello", "{\"text\":\"Hello\",\"font\":\"illageralt\"}"},
+                new Object[]{"<italic>Hello <reset>world",
+                        "{\"text\":\"\",\"extra\":[{\"text\":\"Hello \",\"italic\":true}," +
+                                "{\"text\":\"world\",\"color\":\"white\",\"font\":\"default\",\"obfuscated\":false," +
+                                "\"bold\":false,\"strikethrough\":false,\"underlined\":false,\"italic\":false}]}"},
+                new Object[]{"<hover action=SHOW_TEXT text=\"Hello friend\">Hello world</hover>",
+                        "{\"text\":\"Hello world\",\"hoverEvent\":{\"action\":\"show_text\"," +
+                                "\"contents\":{\"text\":\"Hello friend\"}}}"},
+                new Object[]{"<hover action=SHOW_ITEM id=minecraft:stone_sword Count=1b>Item</hover>",
+                        "{\"text\":\"Item\",\"hoverEvent\":{\"action\":\"show_item\"," +
+                                "\"contents\":{\"id\":\"minecraft:stone_sword\",\"count\":1}}}"},
+                new Object[]{"<hover action=SHOW_ENTITY id=\"3f8164bf-1ed-4bcb-96be-7033beed028c\" type=\"zombie\" name=\"Zombie\">Entity</hover>",
+                        "{\"text\":\"Entity\",\"hoverEvent\":{\"action\":\"show_entity\",\"contents\":{\"type\":\"zombie\"," +
+                                "\"id\":\"3f8164bf-1ed-4bcb-96be-7033beed028c\",\"name\":{\"text\":\"Zombie\"}}}}"},
+                new Object[]{"<hover action=SHOW_ACHIEVEMENT id=mineWood>Achievement</hover>",
+                        "{\"text\":\"Achievement\",\"hoverEvent\":{\"action\":\"show_achievement\"," +
+                                "\"value\":\"achievement.mineWood\"}}"},
+                new Object[]{"<click action=RUN_COMMAND command=\"say hi\">Click <bold>me</click>!",
+                        "{\"text\":\"\",\"extra\":[{\"text\":\"\",\"clickEvent\":{\"action\":\"run_command\",\"value\":\"say hi\"}," +
+                                "\"extra\":[{\"text\":\"Click \"},{\"text\":\"me\",\"bold\":true}]},{\"text\":\"!\"}]}"},
+                new Object[]{"<insertion text=\"Hi\">Insert</insertion>", "{\"text\":\"Insert\",\"insertion\":\"Hi\"}"},
+                new Object[]{"<translatable arguments=\"Diamond Sword&1\">commands.give.successful.single</translatable>",
+                        "{\"translate\":\"commands.give.successful.single\",\"with\":[{\"text\":\"Diamond Sword\"},{\"text\":\"1\"}]}"},
+                new Object[]{"<red>Hi <translatable>commands.help</translatable>",
+                        "{\"text\":\"\",\"extra\":[{\"text\":\"Hi \",\"color\":\"red\"}," +
+                                "{\"translate\":\"commands.help\",\"color\":\"red\"}]}"},
+                new Object[]{"Quote \" and \\ back", "{\"text\":\"Quote \\\" and \\\\ back\"}"},
+        };
+    }
+
+    @ParameterizedTest
+    @MethodSource("getConvertTests")
+    void testConvertComponent(String rawText, String expected) {
+        String json = converter.convertComponent(Component.fromRaw(rawText));
+        assertEquals(JsonParser.parseString(expected), JsonParser.parseString(json), json);
+    }
+
+    @Test
+    void testConvertCustomComponent() {
+        // Load CustomComponent
+        new RoseFluoComponent();
+        String json = converter.convertComponent(Component.fromRaw("<rose>Hello"));
+        assertEquals(JsonParser.parseString("{\"text\":\"Hello\",\"color\":\"#FF00AA\"}"), JsonParser.parseString(json));
+    }
+
+    @Test
+    void testRegisteredConverter() {
+        JsonConverter converter = new JsonConverter();
+        converter.registerConverter(Component.class, c -> "{\"text\":\"registered\"}");
+        String json = converter.convertComponent(Component.fromRaw("Hello <insertion text=\"Hi\">world</insertion>"));
+        assertEquals(JsonParser.parseString("{\"text\":\"\",\"extra\":[{\"text\":\"registered\"}," +
+                "{\"text\":\"\",\"insertion\":\"Hi\",\"extra\":[{\"text\":\"registered\"}]}]}"), JsonParser.parseString(json));
+    }
+
+    @Test
+    void testWriteEmbedded() throws IOException {
+        StringWriter stringWriter = new StringWriter();
+        JsonWriter writer = new JsonWriter(stringWriter);
+        writer.beginObject().name("message");
+        converter.write(Component.fromRaw("<red>Hello"), writer);
+        writer.endObject().flush();
+        assertEquals("{\"message\":{\"text\":\"Hello\",\"color\":\"red\"}}", stringWriter.toString());
+    }
+
+    @Test
+    void testApplyStyle() {
+        String json = converter.reset(converter.convertSimpleComponent(Component.fromRaw("Hello")));
+        assertEquals(JsonParser.parseString("{\"text\":\"Hello\",\"color\":\"white\",\"font\":\"default\",\"obfuscated\":false," +
+                "\"bold\":false,\"strikethrough\":false,\"underlined\":false,\"italic\":false}"), JsonParser.parseString(json));
+    }
+
+}
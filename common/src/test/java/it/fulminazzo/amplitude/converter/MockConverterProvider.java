@@ -0,0 +1,16 @@
+package it.fulminazzo.amplitude.converter;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A {@link ConverterProvider} registered for tests, that provides a converter only when one is set.
+ */
+public class MockConverterProvider implements ConverterProvider {
+    static ComponentConverter converter;
+
+    @Override
+    public @Nullable ComponentConverter createConverter() {
+        return converter;
+    }
+
+}
@@ -17,4 +17,25 @@ class StringUtilsTest {
                 String.format("Expected had %s elements, Actual has %s", expected.length, actual.length));
         assertArrayEquals(expected, actual);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testSplitQuoteSensitiveLikeSplit() {
+        assertArrayEquals(new String[]{"", "a", "", "\"b", "c"}, StringUtils.splitQuoteSensitive(",a,,\"b,c,,", ','));
+        assertArrayEquals(new String[]{""}, StringUtils.splitQuoteSensitive("", ','));
+        assertArrayEquals(new String[0], StringUtils.splitQuoteSensitive(",,", ','));
+    }
+
+    @Test
+    void testSplitQuoteSensitiveRegex() {
+        String[] expected = new String[]{"Hello ", " \"&cworld\" ", "'&c'"};
+        assertArrayEquals(expected, StringUtils.splitQuoteSensitive("Hello &c \"&cworld\" §c'&c'", "[§&]c"));
+    }
+
+    @Test
+    void testIndexOfQuoteSensitive() {
+        String string = "<hover text=\"<red>\" value='>'>Hello>";
+        assertEquals(29, StringUtils.indexOfQuoteSensitive(string, '>', 0));
+        assertEquals(35, StringUtils.indexOfQuoteSensitive(string, '>', 30));
+        assertEquals(-1, StringUtils.indexOfQuoteSensitive(string, '!', 0));
+    }
+}